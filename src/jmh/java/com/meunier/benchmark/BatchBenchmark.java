@@ -0,0 +1,80 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import com.meunier.NumberToLCD;
+import com.meunier.ParallelLcdRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-item cost of batch rendering at batch sizes of 1, 100 and 100k,
+ * compared to calling the facade once per number.
+ * Every benchmark reports the time of one item.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    private static final int MEDIUM = 100;
+    private static final int LARGE = 100_000;
+
+    private final LcdRenderer renderer = new LcdRenderer(2, 2);
+    private final ParallelLcdRenderer parallel = new ParallelLcdRenderer(renderer);
+
+    private long[] single;
+    private long[] medium;
+    private long[] large;
+    private StringBuilder out;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        single = random.longs(1, 0, 10_000_000).toArray();
+        medium = random.longs(MEDIUM, 0, 10_000_000).toArray();
+        large = random.longs(LARGE, 0, 10_000_000).toArray();
+        out = new StringBuilder();
+    }
+
+    @Benchmark
+    public String facadeSingle() {
+        return NumberToLCD.numbersToLcd(single[0], 2, 2);
+    }
+
+    @Benchmark
+    public String[] batchSingle() {
+        return renderer.renderAll(single);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MEDIUM)
+    public String[] batchMedium() {
+        return renderer.renderAll(medium);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LARGE)
+    public String[] batchLarge() {
+        return renderer.renderAll(large);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LARGE)
+    public StringBuilder batchLargeIntoOneBuffer() throws IOException {
+        out.setLength(0);
+        renderer.renderAll(large, out, "\n");
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LARGE)
+    public String[] parallelBatchLarge() {
+        return parallel.renderAll(large);
+    }
+}
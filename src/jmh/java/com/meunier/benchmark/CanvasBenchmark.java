@@ -0,0 +1,72 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import com.meunier.display.LcdCanvas;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Composing a wallboard of 24 numbers in two sizes into one frame: drawn into a canvas,
+ * or rendered to Strings and spliced together line by line as callers did before.
+ * Run with {@code -prof gc} to compare the allocation per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CanvasBenchmark {
+
+    private static final int ITEMS = 24;
+    private static final int ITEMS_PER_ROW = 4;
+    private static final int CELL_WIDTH = 40;
+    private static final int CELL_LINES = 10;
+
+    private final LcdRenderer large = new LcdRenderer(2, 3);
+    private final LcdRenderer small = new LcdRenderer(1, 1);
+    private final LcdCanvas canvas = new LcdCanvas(ITEMS_PER_ROW * CELL_WIDTH, ITEMS / ITEMS_PER_ROW * CELL_LINES);
+    private final StringBuilder out = new StringBuilder(canvas.getColumns() * canvas.getLines() + canvas.getLines());
+    private final char[][] spliced = new char[canvas.getLines()][canvas.getColumns()];
+    private long tick;
+
+    @Benchmark
+    public StringBuilder canvas() throws IOException {
+        tick++;
+        canvas.clear();
+        for (int i = 0; i < ITEMS; i++) {
+            canvas.draw(i % 2 == 0 ? large : small, tick * (i + 1) % 100_000,
+                    i % ITEMS_PER_ROW * CELL_WIDTH, i / ITEMS_PER_ROW * CELL_LINES);
+        }
+        out.setLength(0);
+        canvas.flush(out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder splicedStrings() {
+        tick++;
+        for (char[] line : spliced) {
+            Arrays.fill(line, ' ');
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            String rendered = (i % 2 == 0 ? large : small).render(tick * (i + 1) % 100_000);
+            String[] lines = rendered.split("\n");
+            for (int line = 0; line < lines.length; line++) {
+                lines[line].getChars(0, lines[line].length(), spliced[i / ITEMS_PER_ROW * CELL_LINES + line],
+                        i % ITEMS_PER_ROW * CELL_WIDTH);
+            }
+        }
+        out.setLength(0);
+        for (int line = 0; line < spliced.length; line++) {
+            if (line > 0) {
+                out.append('\n');
+            }
+            out.append(spliced[line]);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the extended glyph set: digit-only input through the digit path and through the
+ * char-to-glyph lookup, and mixed text such as clock times and hex identifiers.
+ * {@code digits} should match {@link RenderBenchmark#renderToAppendable} of earlier releases.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GlyphSetBenchmark {
+
+    private final LcdRenderer renderer = new LcdRenderer(2, 2);
+    private final StringBuilder out = new StringBuilder(1024);
+
+    @Benchmark
+    public StringBuilder digits() throws IOException {
+        out.setLength(0);
+        renderer.render("1234567890", out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder digitsAsText() throws IOException {
+        out.setLength(0);
+        renderer.renderText("1234567890", out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder clock() throws IOException {
+        out.setLength(0);
+        renderer.renderText("12:45:07.3", out);
+        return out;
+    }
+
+    @Benchmark
+    public StringBuilder hex() throws IOException {
+        out.setLength(0);
+        renderer.renderText("-DEADBEEF0", out);
+        return out;
+    }
+}
@@ -0,0 +1,115 @@
+package com.meunier.benchmark;
+
+import com.meunier.server.LcdHttpServer;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of {@link LcdHttpServer} over localhost, reporting throughput and latency percentiles.
+ * <p>
+ * Not a JMH benchmark: JMH measures the client loop, not the server. Every simulated client is a
+ * virtual thread sending requests back to back with mixed digit sizes.
+ * <pre>
+ * java -Dsun.net.httpserver.nodelay=true -cp target/benchmarks.jar com.meunier.benchmark.HttpLoadBenchmark \
+ *     [clients] [requestsPerClient] [url]
+ * </pre>
+ * Without a URL an in-process server on a free port is started.
+ */
+public final class HttpLoadBenchmark {
+
+    private static final int WARMUP_REQUESTS = 2000;
+
+    private HttpLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        LcdHttpServer server = null;
+        String baseUrl;
+        if (args.length > 2) {
+            baseUrl = args[2];
+        } else {
+            server = new LcdHttpServer(new InetSocketAddress("localhost", 0));
+            server.start();
+            baseUrl = "http://localhost:" + server.getPort() + "/lcd";
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(executor).build();
+
+            run(client, baseUrl, executor, Math.min(clients, 16), WARMUP_REQUESTS / Math.min(clients, 16));
+
+            long start = System.nanoTime();
+            long[] latencies = run(client, baseUrl, executor, clients, requestsPerClient);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Arrays.sort(latencies);
+            System.out.printf("%d clients, %d requests in %.2f s: %.0f requests/s%n",
+                    clients, latencies.length, seconds, latencies.length / seconds);
+            System.out.printf("latency p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                    millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.90)),
+                    millis(percentile(latencies, 0.99)), millis(latencies[latencies.length - 1]));
+        } finally {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+    }
+
+    /**
+     * Sends the requests from all clients and returns the latency of every request in nanoseconds.
+     */
+    private static long[] run(HttpClient client, String baseUrl, ExecutorService executor,
+                              int clients, int requestsPerClient) throws Exception {
+        List<Future<long[]>> results = new ArrayList<>(clients);
+        for (int c = 0; c < clients; c++) {
+            int clientId = c;
+            results.add(executor.submit(() -> {
+                long[] latencies = new long[requestsPerClient];
+                for (int i = 0; i < requestsPerClient; i++) {
+                    int size = 1 + (clientId + i) % 4;
+                    URI uri = URI.create(baseUrl + "?n=" + (clientId * 7919L + i) + "&w=" + size + "&h=" + size);
+                    long start = System.nanoTime();
+                    HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(),
+                            HttpResponse.BodyHandlers.discarding());
+                    latencies[i] = System.nanoTime() - start;
+                    if (response.statusCode() != 200) {
+                        throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + uri);
+                    }
+                }
+                return latencies;
+            }));
+        }
+
+        long[] all = new long[clients * requestsPerClient];
+        int index = 0;
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get(10, TimeUnit.MINUTES);
+            System.arraycopy(latencies, 0, all, index, latencies.length);
+            index += latencies.length;
+        }
+        return all;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
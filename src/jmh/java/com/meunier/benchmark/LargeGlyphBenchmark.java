@@ -0,0 +1,51 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import com.meunier.model.GlyphTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of very tall and wide digits for large-format output.
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} of {@code buildTable} only depends on the width,
+ * and {@code streamRows} allocates one line buffer however tall the digits are.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LargeGlyphBenchmark {
+
+    @Param({"1x5000", "5000x1", "5000x5000"})
+    public String size;
+
+    private int width;
+    private int height;
+    private LcdRenderer renderer;
+    private Writer nullWriter;
+
+    @Setup
+    public void setup() {
+        String[] parts = size.split("x");
+        width = Integer.parseInt(parts[0]);
+        height = Integer.parseInt(parts[1]);
+        renderer = new LcdRenderer(width, height);
+        nullWriter = Writer.nullWriter();
+    }
+
+    @Benchmark
+    public GlyphTable buildTable() {
+        return GlyphTable.sized(width, height);
+    }
+
+    @Benchmark
+    public Writer streamRows() throws IOException {
+        renderer.renderRows("42", nullWriter);
+        return nullWriter;
+    }
+}
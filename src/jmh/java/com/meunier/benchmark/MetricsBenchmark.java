@@ -0,0 +1,50 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import com.meunier.metrics.RenderMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the render instrumentation, with metrics switched off and on.
+ * The disabled score should match {@link RenderBenchmark} within noise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean enabled;
+
+    private final LcdRenderer renderer = new LcdRenderer(2, 2);
+    private final StringBuilder sb = new StringBuilder(1024);
+    private long number;
+
+    @Setup
+    public void setup() {
+        RenderMetrics.setEnabled(enabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RenderMetrics.setEnabled(false);
+    }
+
+    @Benchmark
+    public String renderString() {
+        return renderer.render(number++ & 0xFFFFFFL);
+    }
+
+    @Benchmark
+    public StringBuilder renderAppendable() throws IOException {
+        sb.setLength(0);
+        renderer.render(number++ & 0xFFFFFFL, sb);
+        return sb;
+    }
+}
@@ -0,0 +1,78 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import com.meunier.model.GlyphTable;
+import com.meunier.model.GlyphTableCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-digit pair table against the previous one-digit-at-a-time composition, for 1 to 19 digits.
+ * {@code perDigit} repeats the old loop through the public glyph table API, dividing once per digit and line;
+ * {@code pairs} is the renderer, which splits the number into pairs once and copies two digits per line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PairTableBenchmark {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    @Param({"1", "2", "5", "10", "15", "19"})
+    public int digits;
+
+    @Param({"basic", "2x2"})
+    public String size;
+
+    private long number;
+    private LcdRenderer renderer;
+    private GlyphTable table;
+    private StringBuilder sb;
+
+    @Setup
+    public void setup() {
+        // 1234567890123456789 cut to the digit count
+        number = 1_234_567_890_123_456_789L / POWERS_OF_TEN[19 - digits];
+        if ("basic".equals(size)) {
+            renderer = new LcdRenderer();
+            table = GlyphTableCache.getDefault().getBasic();
+        } else {
+            renderer = new LcdRenderer(2, 2);
+            table = GlyphTableCache.getDefault().get(2, 2);
+        }
+        sb = new StringBuilder(renderer.renderedLength(number));
+    }
+
+    @Benchmark
+    public StringBuilder perDigit() throws IOException {
+        sb.setLength(0);
+        for (int line = 0; line < table.getLineCount(); line++) {
+            if (line > 0) {
+                sb.append('\n');
+            }
+            for (int d = digits - 1; d >= 0; d--) {
+                table.appendLine((int) (number / POWERS_OF_TEN[d] % 10), line, sb);
+            }
+        }
+        return sb;
+    }
+
+    @Benchmark
+    public StringBuilder pairs() throws IOException {
+        sb.setLength(0);
+        renderer.render(number, sb);
+        return sb;
+    }
+}
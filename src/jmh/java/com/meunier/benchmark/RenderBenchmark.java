@@ -0,0 +1,52 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import com.meunier.NumberToLCD;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded cost of rendering 1 to 10 digit numbers,
+ * through the static facade and through the allocation-free renderer path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int digits;
+
+    private int number;
+    private LcdRenderer renderer;
+    private StringBuilder out;
+
+    @Setup
+    public void setup() {
+        number = (int) Math.min(Integer.MAX_VALUE, Long.parseLong("1234567890".substring(0, digits)));
+        renderer = new LcdRenderer(2, 2);
+        out = new StringBuilder(renderer.renderedLength(Long.MAX_VALUE));
+    }
+
+    @Benchmark
+    public String numbersToLcdBasic() {
+        return NumberToLCD.numbersToLcd(number);
+    }
+
+    @Benchmark
+    public String numbersToLcdSized() {
+        return NumberToLCD.numbersToLcd(number, 2, 2);
+    }
+
+    @Benchmark
+    public StringBuilder renderToAppendable() throws IOException {
+        out.setLength(0);
+        renderer.render(number, out);
+        return out;
+    }
+}
@@ -0,0 +1,43 @@
+package com.meunier.benchmark;
+
+import com.meunier.model.GlyphTable;
+import com.meunier.model.Segments;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating the digit segments, for the legacy static map and for glyph tables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SegmentsBenchmark {
+
+    @Param({"1", "2", "5", "10"})
+    public int width;
+
+    @Param({"1", "2", "5", "10"})
+    public int height;
+
+    @Benchmark
+    public Map<Integer, String[]> setBasicMap() {
+        Segments.setBasicMap();
+        return Segments.getNumSegments();
+    }
+
+    @Benchmark
+    public Map<Integer, String[]> setSizedSegments() {
+        Segments.setSizedSegments(width, height);
+        return Segments.getNumSegments();
+    }
+
+    @Benchmark
+    public GlyphTable glyphTableSized() {
+        return GlyphTable.sized(width, height);
+    }
+}
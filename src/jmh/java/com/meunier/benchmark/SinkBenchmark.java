@@ -0,0 +1,58 @@
+package com.meunier.benchmark;
+
+import com.meunier.NumberToLCD;
+import com.meunier.output.AsyncSink;
+import com.meunier.output.BufferedSink;
+import com.meunier.output.ConsoleSink;
+import com.meunier.output.LcdSink;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of rendering with and without writing the result, on several threads.
+ * The sinks write to a discarding stream, so only the cost of the sink itself is measured.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SinkBenchmark {
+
+    private LcdSink console;
+    private LcdSink async;
+
+    @Setup
+    public void setup() {
+        console = new ConsoleSink(new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8));
+        async = new AsyncSink(new BufferedSink(new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8)));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        async.close();
+    }
+
+    @Benchmark
+    public String noSink() {
+        return NumberToLCD.numbersToLcd(1234567);
+    }
+
+    @Benchmark
+    public String consoleSink() throws IOException {
+        return NumberToLCD.numbersToLcd(1234567, console);
+    }
+
+    @Benchmark
+    public String asyncSink() throws IOException {
+        return NumberToLCD.numbersToLcd(1234567, async);
+    }
+}
@@ -0,0 +1,89 @@
+package com.meunier.benchmark;
+
+import com.meunier.LcdRenderer;
+import com.meunier.NumberToLCD;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-threaded throughput of renders with mixed digit sizes, sharing renderers across threads.
+ * <p>
+ * {@link #main} measures the scaling: it runs both benchmarks with 1 thread and with one thread per core,
+ * and prints the speedup and the efficiency (speedup per thread, 1.0 is linear scaling).
+ * <pre>
+ * java -cp target/benchmarks.jar com.meunier.benchmark.ThroughputBenchmark [threads]
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ThroughputBenchmark {
+
+    public static void main(String[] args) throws RunnerException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        Map<String, Double> single = run(1);
+        Map<String, Double> multi = run(threads);
+
+        System.out.printf("%n%-20s %14s %14s %8s %10s%n", "Benchmark", "1 thread", threads + " threads",
+                "Speedup", "Efficiency");
+        for (Map.Entry<String, Double> entry : single.entrySet()) {
+            double speedup = multi.get(entry.getKey()) / entry.getValue();
+            System.out.printf("%-20s %14.0f %14.0f %7.2fx %10.2f%n", entry.getKey(), entry.getValue(),
+                    multi.get(entry.getKey()), speedup, speedup / threads);
+        }
+        System.out.println("Scores in ops/ms; " + Runtime.getRuntime().availableProcessors() + " cores available");
+    }
+
+    /**
+     * @return the throughput of every benchmark in this class, by method name
+     */
+    private static Map<String, Double> run(int threads) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ThroughputBenchmark.class.getName() + "\\.")
+                .threads(threads)
+                .build();
+
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            scores.put(benchmark.substring(benchmark.lastIndexOf('.') + 1), result.getPrimaryResult().getScore());
+        }
+        return scores;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Renderers {
+        final LcdRenderer small = new LcdRenderer(1, 1);
+        final LcdRenderer large = new LcdRenderer(4, 3);
+    }
+
+    @State(Scope.Thread)
+    public static class Counter {
+        int next;
+    }
+
+    @Benchmark
+    public String sharedRenderers(Renderers renderers, Counter counter) {
+        int i = counter.next++;
+        LcdRenderer renderer = (i & 1) == 0 ? renderers.small : renderers.large;
+        return renderer.render(i & 0xFFFFF);
+    }
+
+    @Benchmark
+    public String facadeMixedSizes(Counter counter) {
+        int i = counter.next++;
+        return (i & 1) == 0 ? NumberToLCD.numbersToLcd(i & 0xFFFFF, 1, 1) : NumberToLCD.numbersToLcd(i & 0xFFFFF, 4, 3);
+    }
+}
@@ -0,0 +1,664 @@
+package com.meunier;
+
+import com.meunier.metrics.RenderMetrics;
+import com.meunier.model.GlyphTable;
+import com.meunier.model.GlyphTableCache;
+import com.meunier.model.Segments;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * Renders numbers in LCD format for one fixed digit size.
+ * <p>
+ * A renderer is immutable once constructed: the segments are looked up from a
+ * {@link GlyphTableCache} in the constructor and are never modified or handed out afterwards.
+ * A single instance can therefore be shared by any number of threads without locking.
+ */
+public final class LcdRenderer {
+
+    private static final int BASIC_SIZE = -1;
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final int width;
+    private final int height;
+    private final GlyphTable glyphTable;
+
+    /**
+     * Creates a renderer for regular LCD-style digits with no customization to the digits' width or height.
+     */
+    public LcdRenderer() {
+        this.width = BASIC_SIZE;
+        this.height = BASIC_SIZE;
+        this.glyphTable = GlyphTableCache.getDefault().getBasic();
+    }
+
+    /**
+     * Creates a renderer for custom sized digits, using the default glyph table cache.
+     *
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     */
+    public LcdRenderer(int width, int height) {
+        this(width, height, GlyphTableCache.getDefault());
+    }
+
+    /**
+     * Creates a renderer for custom sized digits.
+     *
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @param cache  the cache to look up the segments map from
+     */
+    public LcdRenderer(int width, int height, GlyphTableCache cache) {
+        this.width = width;
+        this.height = height;
+        this.glyphTable = cache.get(width, height);
+    }
+
+    /**
+     * @return the width of the digits, or -1 for regular LCD-style digits
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the digits, or -1 for regular LCD-style digits
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the immutable glyph table this renderer composes digits from
+     */
+    public GlyphTable getGlyphTable() {
+        return glyphTable;
+    }
+
+    /**
+     * Converts input integer number to a String displaying the numbers in LCD format.
+     *
+     * @param number a positive Integer input number
+     * @return the result String that displays the input number in LCD format.
+     */
+    public String render(int number) {
+        return render((long) number);
+    }
+
+    /**
+     * Converts input long number to a String displaying the numbers in LCD format.
+     *
+     * @param number a positive Long input number
+     * @return the result String that displays the input number in LCD format.
+     */
+    public String render(long number) {
+        StringBuilder sb = new StringBuilder(renderedLength(number));
+        appendTo(number, sb);
+        return toResult(sb);
+    }
+
+    /**
+     * Writes the input number in LCD format straight into the given destination.
+     * Digits are extracted arithmetically and segment lines are appended without
+     * any intermediate objects, so this does not allocate when the destination does not.
+     *
+     * @param number a positive Long input number
+     * @param out    the destination to append the LCD lines to, separated by new line characters
+     * @throws IOException if the destination fails to append
+     */
+    public void render(long number, Appendable out) throws IOException {
+        int digitCount = countDigits(number);
+        layout(number, digitCount, out);
+    }
+
+    /**
+     * Writes the input number in LCD format straight into the given buffer.
+     * Nothing is written if the buffer does not have enough remaining space.
+     *
+     * @param number a positive Long input number
+     * @param out    the buffer to put the LCD lines to, separated by new line characters
+     * @throws BufferOverflowException if the buffer has less than {@link #renderedLength(long)} chars remaining
+     */
+    public void render(long number, CharBuffer out) {
+        int digitCount = countDigits(number);
+        if (out.remaining() < renderedLengthForDigits(digitCount)) {
+            throw new BufferOverflowException();
+        }
+
+        try {
+            layout(number, digitCount, out);
+        } catch (IOException e) {
+            // CharBuffer never throws IOException
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Converts input big integer number to a String displaying the numbers in LCD format.
+     *
+     * @param number a positive BigInteger input number
+     * @return the result String that displays the input number in LCD format.
+     */
+    public String render(BigInteger number) {
+        if (number.signum() < 0) {
+            throw new IllegalArgumentException("Input number cannot be negative!");
+        }
+
+        return render(number.toString());
+    }
+
+    /**
+     * Converts a sequence of decimal digits to a String displaying the digits in LCD format.
+     * Leading zeros are kept, so this can also render identifiers.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @return the result String that displays the digits in LCD format.
+     */
+    public String render(CharSequence digits) {
+        long length = renderedLength(digits);
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Input is too long to render into a String, use renderRows instead!");
+        }
+
+        StringBuilder sb = new StringBuilder((int) length);
+        try {
+            layout(digits, sb);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(e);
+        }
+        return toResult(sb);
+    }
+
+    /**
+     * Writes a sequence of decimal digits in LCD format straight into the given destination.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @param out    the destination to append the LCD lines to, separated by new line characters
+     * @throws IOException if the destination fails to append
+     */
+    public void render(CharSequence digits, Appendable out) throws IOException {
+        checkDigits(digits);
+        layout(digits, out);
+    }
+
+    /**
+     * Converts text to a String displaying it in LCD format.
+     * Besides decimal digits, the text can contain the hex digits A-F in either case, '-', '.', ':' and spaces,
+     * so negative numbers, decimals, hex identifiers and clock times can be rendered.
+     * Every character takes the same width as a digit.
+     *
+     * @param text the text to render, has to contain at least one character and only supported ones
+     * @return the result String that displays the text in LCD format.
+     */
+    public String renderText(CharSequence text) {
+        checkText(text);
+        long length = lengthForDigits(text.length());
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Input is too long to render into a String!");
+        }
+
+        StringBuilder sb = new StringBuilder((int) length);
+        try {
+            layoutText(text, sb);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(e);
+        }
+        return toResult(sb);
+    }
+
+    /**
+     * Writes text in LCD format straight into the given destination.
+     *
+     * @param text the text to render, has to contain at least one character and only supported ones
+     * @param out  the destination to append the LCD lines to, separated by new line characters
+     * @throws IOException if the destination fails to append
+     * @see #renderText(CharSequence)
+     */
+    public void renderText(CharSequence text, Appendable out) throws IOException {
+        checkText(text);
+        layoutText(text, out);
+    }
+
+    /**
+     * Streams a sequence of decimal digits in LCD format to the given writer, one line at a time.
+     * Each line is composed in a single reused buffer before it is written,
+     * so memory use is proportional to one line no matter how many lines the digits have.
+     * Runs of identical lines, as in the sections of tall digits, are composed once and written repeatedly.
+     * The writer is neither flushed nor closed.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @param out    the writer to write the LCD lines to, separated by new line characters
+     * @throws IOException if the writer fails to write
+     */
+    public void renderRows(CharSequence digits, Writer out) throws IOException {
+        checkDigits(digits);
+
+        int glyphWidth = glyphTable.getGlyphWidth();
+        long lineLength = (long) digits.length() * glyphWidth;
+        if (lineLength > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Input is too long to fit a single line into memory!");
+        }
+
+        boolean timed = RenderMetrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        char[] lineBuffer = new char[(int) lineLength];
+        for (int line = 0; line < glyphTable.getLineCount(); ) {
+            for (int i = 0; i < digits.length(); i++) {
+                glyphTable.copyLine(digits.charAt(i) - '0', line, lineBuffer, i * glyphWidth);
+            }
+
+            int runEnd = line + glyphTable.getRunLength(line);
+            for (; line < runEnd; line++) {
+                if (line > 0) {
+                    out.write('\n');
+                }
+                out.write(lineBuffer, 0, lineBuffer.length);
+            }
+        }
+
+        if (timed) {
+            RenderMetrics.recordRender(digits.length(), lengthForDigits(digits.length()), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Computes how many chars the LCD format of a sequence of digits takes, including line separators.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @return the length of the rendered result
+     */
+    public long renderedLength(CharSequence digits) {
+        checkDigits(digits);
+        return lengthForDigits(digits.length());
+    }
+
+    /**
+     * Converts a batch of integer numbers to Strings displaying the numbers in LCD format.
+     * All results are composed in one reused buffer.
+     *
+     * @param numbers the positive Integer input numbers
+     * @return the results in the same order as the input numbers
+     */
+    public String[] renderAll(int[] numbers) {
+        String[] results = new String[numbers.length];
+        StringBuilder sb = new StringBuilder(renderedLengthForDigits(10));
+
+        for (int i = 0; i < numbers.length; i++) {
+            sb.setLength(0);
+            appendTo(numbers[i], sb);
+            results[i] = toResult(sb);
+        }
+
+        return results;
+    }
+
+    /**
+     * Converts a batch of long numbers to Strings displaying the numbers in LCD format.
+     * All results are composed in one reused buffer.
+     *
+     * @param numbers the positive Long input numbers
+     * @return the results in the same order as the input numbers
+     */
+    public String[] renderAll(long[] numbers) {
+        String[] results = new String[numbers.length];
+        renderAll(numbers, 0, numbers.length, results);
+        return results;
+    }
+
+    /**
+     * Renders a range of a batch into the matching range of the results array.
+     *
+     * @param numbers the positive Long input numbers
+     * @param from    the first index to render, inclusive
+     * @param to      the last index to render, exclusive
+     * @param results the array to store the results in, at the same index as the input number
+     */
+    void renderAll(long[] numbers, int from, int to, String[] results) {
+        StringBuilder sb = new StringBuilder(renderedLengthForDigits(POWERS_OF_TEN.length));
+
+        for (int i = from; i < to; i++) {
+            sb.setLength(0);
+            appendTo(numbers[i], sb);
+            results[i] = toResult(sb);
+        }
+    }
+
+    /**
+     * Writes a batch of long numbers in LCD format into one destination, without creating any per-number objects.
+     * If a number is negative, the results of the numbers before it have already been written.
+     *
+     * @param numbers   the positive Long input numbers
+     * @param out       the destination to append the results to
+     * @param separator the separator written between two results
+     * @throws IOException if the destination fails to append
+     */
+    public void renderAll(long[] numbers, Appendable out, CharSequence separator) throws IOException {
+        for (int i = 0; i < numbers.length; i++) {
+            if (i > 0) {
+                out.append(separator);
+            }
+            render(numbers[i], out);
+        }
+    }
+
+    /**
+     * Writes a stream of long numbers in LCD format into one destination, in encounter order.
+     * If a number is negative, the results of the numbers before it have already been written.
+     *
+     * @param numbers   the positive Long input numbers
+     * @param out       the destination to append the results to
+     * @param separator the separator written between two results
+     * @throws IOException if the destination fails to append
+     */
+    public void renderAll(LongStream numbers, Appendable out, CharSequence separator) throws IOException {
+        PrimitiveIterator.OfLong iterator = numbers.iterator();
+        boolean first = true;
+
+        while (iterator.hasNext()) {
+            if (!first) {
+                out.append(separator);
+            }
+            render(iterator.nextLong(), out);
+            first = false;
+        }
+    }
+
+    /**
+     * Computes how many chars the LCD format of the input number takes, including line separators.
+     * Useful for sizing destination buffers up front.
+     *
+     * @param number a positive Long input number
+     * @return the length of the rendered result
+     */
+    public int renderedLength(long number) {
+        return renderedLengthForDigits(countDigits(number));
+    }
+
+    private int renderedLengthForDigits(int digitCount) {
+        return (int) lengthForDigits(digitCount);
+    }
+
+    private long lengthForDigits(long digitCount) {
+        int lineCount = glyphTable.getLineCount();
+        return lineCount * digitCount * glyphTable.getGlyphWidth() + lineCount - 1;
+    }
+
+    private void appendTo(long number, StringBuilder sb) {
+        try {
+            render(number, sb);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the number into the destination, timing the layout stage when metrics are enabled.
+     */
+    private void layout(long number, int digitCount, Appendable out) throws IOException {
+        if (!RenderMetrics.isEnabled()) {
+            writeToMultiLineSegments(number, digitCount, out);
+            return;
+        }
+
+        long start = System.nanoTime();
+        writeToMultiLineSegments(number, digitCount, out);
+        RenderMetrics.recordRender(digitCount, lengthForDigits(digitCount), System.nanoTime() - start);
+    }
+
+    /**
+     * Writes the digits into the destination, timing the layout stage when metrics are enabled.
+     */
+    private void layout(CharSequence digits, Appendable out) throws IOException {
+        if (!RenderMetrics.isEnabled()) {
+            writeToMultiLineSegments(digits, out);
+            return;
+        }
+
+        long start = System.nanoTime();
+        writeToMultiLineSegments(digits, out);
+        RenderMetrics.recordRender(digits.length(), lengthForDigits(digits.length()), System.nanoTime() - start);
+    }
+
+    /**
+     * Writes the text into the destination, timing the layout stage when metrics are enabled.
+     */
+    private void layoutText(CharSequence text, Appendable out) throws IOException {
+        if (!RenderMetrics.isEnabled()) {
+            writeTextToMultiLineSegments(text, out);
+            return;
+        }
+
+        long start = System.nanoTime();
+        writeTextToMultiLineSegments(text, out);
+        RenderMetrics.recordRender(text.length(), lengthForDigits(text.length()), System.nanoTime() - start);
+    }
+
+    /**
+     * Creates the result String, timing the result stage when metrics are enabled.
+     */
+    private static String toResult(StringBuilder sb) {
+        if (!RenderMetrics.isEnabled()) {
+            return sb.toString();
+        }
+
+        long start = System.nanoTime();
+        String result = sb.toString();
+        RenderMetrics.recordStage(RenderMetrics.Stage.RESULT, System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Counts the digits of the input number.
+     * If number is negative, it throws an exception.
+     *
+     * @param number the input number to convert
+     * @return the number of decimal digits in the number
+     */
+    private static int countDigits(long number) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Input number cannot be negative!");
+        }
+
+        int digitCount = 1;
+        while (digitCount < POWERS_OF_TEN.length && number >= POWERS_OF_TEN[digitCount]) {
+            digitCount++;
+        }
+        return digitCount;
+    }
+
+    /**
+     * Checks that the input only contains decimal digits.
+     *
+     * @param digits the input sequence to check
+     */
+    private static void checkDigits(CharSequence digits) {
+        if (digits.length() == 0) {
+            throw new IllegalArgumentException("Input has to contain at least one digit!");
+        }
+
+        for (int i = 0; i < digits.length(); i++) {
+            char c = digits.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Input can only contain digits, found '" + c + "' at " + i);
+            }
+        }
+    }
+
+    /**
+     * Checks that every character of the input has a glyph.
+     *
+     * @param text the input sequence to check
+     */
+    private static void checkText(CharSequence text) {
+        if (text.length() == 0) {
+            throw new IllegalArgumentException("Input has to contain at least one character!");
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Segments.getGlyphIndex(c) < 0) {
+                throw new IllegalArgumentException("Input cannot contain '" + c + "', found at " + i);
+            }
+        }
+    }
+
+    /**
+     * Writes the segments of every digit line by line into the destination.
+     * Each line takes the segment line of each digit from left to right,
+     * and lines are separated by new line characters.
+     *
+     * @param number     the input number to write
+     * @param digitCount the number of digits in the input number
+     * @param out        the destination of the lines
+     * @throws IOException if the destination fails to append
+     */
+    private void writeToMultiLineSegments(long number, int digitCount, Appendable out) throws IOException {
+        if (glyphTable.hasPairTable()) {
+            writePairsToMultiLineSegments(number, digitCount, out);
+            return;
+        }
+
+        int lineCount = glyphTable.getLineCount();
+
+        for (int line = 0; line < lineCount; line++) {
+            if (line > 0) {
+                out.append('\n');
+            }
+            for (int d = digitCount - 1; d >= 0; d--) {
+                int digit = (int) (number / POWERS_OF_TEN[d] % 10);
+                glyphTable.appendLine(digit, line, out);
+            }
+        }
+    }
+
+    /**
+     * Writes the same lines as {@link #writeToMultiLineSegments(long, int, Appendable)}, two digits at a time
+     * from the precomposed pairs of the glyph table.
+     * The number is split into pairs once, by dividing by 100, and packed 8 bits per pair into two longs,
+     * so every line only shifts them out again instead of dividing once per digit.
+     * With an odd digit count, the leading digit is written on its own.
+     *
+     * @param number     the input number to write
+     * @param digitCount the number of digits in the input number
+     * @param out        the destination of the lines
+     * @throws IOException if the destination fails to append
+     */
+    private void writePairsToMultiLineSegments(long number, int digitCount, Appendable out) throws IOException {
+        int pairCount = (digitCount + 1) / 2;
+        boolean oddLeading = (digitCount & 1) != 0;
+
+        // pair 0 holds the two lowest digits; pairs 0-7 go into low, 8 and 9 into high
+        long low = 0;
+        long high = 0;
+        long rest = number;
+        for (int p = 0; p < pairCount; p++) {
+            long pair = rest % 100;
+            rest /= 100;
+            if (p < 8) {
+                low |= pair << (p * 8);
+            } else {
+                high |= pair << ((p - 8) * 8);
+            }
+        }
+
+        int lineCount = glyphTable.getLineCount();
+        for (int line = 0; line < lineCount; line++) {
+            if (line > 0) {
+                out.append('\n');
+            }
+            for (int p = pairCount - 1; p >= 0; p--) {
+                int pair = (int) ((p < 8 ? low >>> (p * 8) : high >>> ((p - 8) * 8)) & 0xFF);
+                if (oddLeading && p == pairCount - 1) {
+                    glyphTable.appendLine(pair, line, out);
+                } else {
+                    glyphTable.appendPairLine(pair, line, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the segments of every digit in the sequence line by line into the destination.
+     *
+     * @param digits the digits to write, already checked
+     * @param out    the destination of the lines
+     * @throws IOException if the destination fails to append
+     */
+    private void writeToMultiLineSegments(CharSequence digits, Appendable out) throws IOException {
+        int lineCount = glyphTable.getLineCount();
+
+        for (int line = 0; line < lineCount; line++) {
+            if (line > 0) {
+                out.append('\n');
+            }
+            for (int i = 0; i < digits.length(); i++) {
+                glyphTable.appendLine(digits.charAt(i) - '0', line, out);
+            }
+        }
+    }
+
+    /**
+     * Writes the glyphs of every character of the text line by line into the destination.
+     * Characters are mapped to glyphs through the lookup table in {@link Segments}.
+     *
+     * @param text the text to write, already checked
+     * @param out  the destination of the lines
+     * @throws IOException if the destination fails to append
+     */
+    private void writeTextToMultiLineSegments(CharSequence text, Appendable out) throws IOException {
+        int lineCount = glyphTable.getLineCount();
+
+        for (int line = 0; line < lineCount; line++) {
+            if (line > 0) {
+                out.append('\n');
+            }
+            for (int i = 0; i < text.length(); i++) {
+                glyphTable.appendLine(Segments.getGlyphIndex(text.charAt(i)), line, out);
+            }
+        }
+    }
+
+    /**
+     * Copies the segments of a range of digits into a preallocated result array.
+     * The array holds every line of the whole sequence, each followed by a new line character except the last,
+     * so ranges of digits write disjoint slices of every line and can be copied concurrently.
+     *
+     * @param digits the digits to write, already checked
+     * @param from   the first digit to copy, inclusive
+     * @param to     the last digit to copy, exclusive
+     * @param dest   the result array, {@link #renderedLength(CharSequence)} long
+     */
+    void writeDigitColumns(CharSequence digits, int from, int to, char[] dest) {
+        int glyphWidth = glyphTable.getGlyphWidth();
+        int lineLength = digits.length() * glyphWidth + 1;
+
+        for (int line = 0; line < glyphTable.getLineCount(); line++) {
+            int lineStart = line * lineLength;
+            for (int i = from; i < to; i++) {
+                glyphTable.copyLine(digits.charAt(i) - '0', line, dest, lineStart + i * glyphWidth);
+            }
+            if (to == digits.length() && line < glyphTable.getLineCount() - 1) {
+                dest[lineStart + lineLength - 1] = '\n';
+            }
+        }
+    }
+
+}
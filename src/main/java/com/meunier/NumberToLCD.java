@@ -1,150 +1,230 @@
 package com.meunier;
 
-import com.meunier.model.Segments;
+import com.meunier.output.LcdSink;
 
-import java.util.*;
+import java.io.IOException;
+import java.math.BigInteger;
 
 public class NumberToLCD {
 
-    private static int H = -1;
-    private static int W = -1;
+    private static final LcdRenderer BASIC_RENDERER = new LcdRenderer();
+
+    private static volatile RenderedOutputCache resultCache;
+
+    /**
+     * Puts a cache of rendered results in front of the int and long numbersToLcd methods.
+     * Results are identical with or without the cache.
+     *
+     * @param maxBytes the memory budget of the cache in bytes
+     * @return the new cache, for reading its metrics
+     */
+    public static RenderedOutputCache enableResultCache(long maxBytes) {
+        RenderedOutputCache cache = new RenderedOutputCache(maxBytes);
+        resultCache = cache;
+        return cache;
+    }
+
+    /**
+     * Removes the cache of rendered results, so every call renders again.
+     */
+    public static void disableResultCache() {
+        resultCache = null;
+    }
+
+    /**
+     * @return the current cache of rendered results, or null if it is disabled
+     */
+    public static RenderedOutputCache getResultCache() {
+        return resultCache;
+    }
 
     /**
      * Converts input integer number to a String displaying the numbers in LCD format.
      * The default case is regular LCD-style display with no customization to the digits' width or height.
+     * The result is only returned, nothing is printed.
      *
      * @param number a positive Integer input number
      * @return the result String that displays the input number in LCD format.
      */
     public static String numbersToLcd(int number) {
-        // setting width and height to default -1
-        W = -1;
-        H = -1;
-
-        List<String[]> segments = arrangeDigitSegments(number);
-        String[] segmentLines = writeToMultiLineSegments(segments);
-        String response = convertToTextResult(segmentLines);
-        System.out.println(response);
-        return response;
+        return numbersToLcd((long) number);
     }
 
+    /**
+     * Converts input integer number to a String displaying the numbers in LCD format,
+     * with custom sized digits. The result is only returned, nothing is printed.
+     *
+     * @param number a positive Integer input number
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @return the result String that displays the input number in LCD format.
+     */
     public static String numbersToLcd(int number, int width, int height) {
-        if (width < 1 || height < 1) {
-            throw new IllegalArgumentException("Width and height have to be at least 1!");
-        }
-
-        // setting width and height parameters
-        W = width;
-        H = height;
-
-        List<String[]> segments = arrangeDigitSegments(number);
-        String[] segmentLines = writeToMultiLineSegments(segments);
-        String response = convertToTextResult(segmentLines);
-
-        System.out.println(response);
-        return response;
+        return numbersToLcd((long) number, width, height);
     }
 
     /**
-     * Search for the segments belonging to each digit in input number.
-     * If number is negative, it throws an exception.
-     * Converts input integer into string for iterating the digits.
+     * Converts input long number to a String displaying the numbers in LCD format.
      *
-     * Sets the Segments map to basic or custom-sized numbers.
-     *
-     * It iterates the digits of the input number and finds the segments from the segments map for each digit.
-     *
-     * @param number the input number to convert
-     * @return a List of String[] arrays containing the digit segments in LCD format for each digit
+     * @param number a positive Long input number
+     * @return the result String that displays the input number in LCD format.
      */
-    private static List<String[]> arrangeDigitSegments(int number) {
-        if (number < 0) {
-            throw new IllegalArgumentException("Input number cannot be negative!");
+    public static String numbersToLcd(long number) {
+        RenderedOutputCache cache = resultCache;
+        if (cache == null) {
+            return BASIC_RENDERER.render(number);
         }
+        return cache.get(number, -1, -1, BASIC_RENDERER::render);
+    }
 
-        String numString = String.valueOf(number);
-
-        List<String[]> segmentsListForNums = new ArrayList<>();
-
-        setSegmentsMap();
-
-        for (int i = 0; i < numString.length(); i++) {
-            int currentNum = numString.charAt(i) - '0';
-            String[] segmentsForCurrentNum = getSegmentForNumber(currentNum);
-            segmentsListForNums.add(segmentsForCurrentNum);
+    /**
+     * Converts input long number to a String displaying the numbers in LCD format, with custom sized digits.
+     *
+     * @param number a positive Long input number
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @return the result String that displays the input number in LCD format.
+     */
+    public static String numbersToLcd(long number, int width, int height) {
+        RenderedOutputCache cache = resultCache;
+        if (cache == null) {
+            return new LcdRenderer(width, height).render(number);
         }
-        return segmentsListForNums;
+        return cache.get(number, width, height, n -> new LcdRenderer(width, height).render(n));
     }
 
     /**
-     * Sets the Segments map to generating and storing basic or custom-sized digits.
+     * Converts input big integer number to a String displaying the numbers in LCD format.
+     *
+     * @param number a positive BigInteger input number
+     * @return the result String that displays the input number in LCD format.
      */
-    private static void setSegmentsMap() {
-        if (H > -1 && W > -1) {
-            Segments.setSizedSegments(W, H);
-        } else {
-            Segments.setBasicMap();
-        }
+    public static String numbersToLcd(BigInteger number) {
+        return BASIC_RENDERER.render(number);
     }
 
     /**
-     * Find proper segment for a given number.
-     * It searches the Segments map for the proper segments for each given input digit.
+     * Converts input big integer number to a String displaying the numbers in LCD format, with custom sized digits.
      *
-     * @param number a single digit number to find in the Segments map
-     * @return a String[] array containing the segments for a number
+     * @param number a positive BigInteger input number
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @return the result String that displays the input number in LCD format.
      */
-    private static String[] getSegmentForNumber(int number) {
-        String[] segmentsForNumber = Segments.getNumSegments().get(number);
+    public static String numbersToLcd(BigInteger number, int width, int height) {
+        return new LcdRenderer(width, height).render(number);
+    }
 
-        if (segmentsForNumber == null) {
-            throw new NoSuchElementException("Could not find digit " + number);
-        }
+    /**
+     * Converts a sequence of decimal digits to a String displaying the digits in LCD format.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @return the result String that displays the digits in LCD format.
+     */
+    public static String numbersToLcd(CharSequence digits) {
+        return BASIC_RENDERER.render(digits);
+    }
 
-        return segmentsForNumber;
+    /**
+     * Converts a sequence of decimal digits to a String displaying the digits in LCD format, with custom sized digits.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @return the result String that displays the digits in LCD format.
+     */
+    public static String numbersToLcd(CharSequence digits, int width, int height) {
+        return new LcdRenderer(width, height).render(digits);
     }
 
     /**
-     * Converts the existing segments list into a multi-line segments String[] array.
-     * It takes the first element of the segments list for each digit,
-     * and then copies the rest into it, column by column.
+     * Converts text to a String displaying it in LCD format. Unlike {@link #numbersToLcd(long)},
+     * this can render negative numbers, decimals, hex digits and clock times such as "-42", "3.14", "BEEF" or "12:45".
      *
-     * @param list The list of String[] arrays containing the segments for each digit.
-     *             List cannot be null because number is checked earlier, and if number is valid,
-     *             the list will contain some segment elements.
-     * @return a String[] array containing the total multi-line segments list.
+     * @param text the text to render, can contain digits, A-F, '-', '.', ':' and spaces
+     * @return the result String that displays the text in LCD format.
      */
-    private static String[] writeToMultiLineSegments(List<String[]> list) {
-        String[] segmentLines = list.get(0);
+    public static String textToLcd(CharSequence text) {
+        return BASIC_RENDERER.renderText(text);
+    }
 
-        for (int r = 1; r < list.size(); r++) {
-            for (int c = 0; c < list.get(r).length; c++) {
-                segmentLines[c] += list.get(r)[c];
-            }
-        }
+    /**
+     * Converts text to a String displaying it in LCD format, with custom sized characters.
+     *
+     * @param text   the text to render, can contain digits, A-F, '-', '.', ':' and spaces
+     * @param width  the width of the characters, has to be at least 1
+     * @param height the height of the characters, has to be at least 1
+     * @return the result String that displays the text in LCD format.
+     */
+    public static String textToLcd(CharSequence text, int width, int height) {
+        return new LcdRenderer(width, height).renderText(text);
+    }
 
-        return segmentLines;
+    /**
+     * Converts a batch of integer numbers to Strings displaying the numbers in LCD format.
+     *
+     * @param numbers the positive Integer input numbers
+     * @return the results in the same order as the input numbers
+     */
+    public static String[] numbersToLcd(int[] numbers) {
+        return BASIC_RENDERER.renderAll(numbers);
     }
 
     /**
-     * Takes the String[] array containing the multi-line segments
-     * and joins them into a single line for final display.
+     * Converts a batch of integer numbers to Strings displaying the numbers in LCD format, with custom sized digits.
+     * The digit size is validated and the glyph table is looked up once for the whole batch.
      *
-     * @param segmentLines The String[] array containing the segment lines for all the digits in the input number.
-     * @return a String that is the final result for displaying the total sequence of numbers in LCD format.
+     * @param numbers the positive Integer input numbers
+     * @param width   the width of the digits, has to be at least 1
+     * @param height  the height of the digits, has to be at least 1
+     * @return the results in the same order as the input numbers
      */
-    private static String convertToTextResult(String[] segmentLines) {
-        String delim = "\n";
+    public static String[] numbersToLcd(int[] numbers, int width, int height) {
+        return new LcdRenderer(width, height).renderAll(numbers);
+    }
 
-        StringBuilder sb = new StringBuilder();
-        for (String str : segmentLines) {
-            if (sb.length() > 0) {
-                sb.append(delim);
-            }
-            sb.append(str);
-        }
+    /**
+     * Converts a batch of long numbers to Strings displaying the numbers in LCD format, with custom sized digits.
+     * The digit size is validated and the glyph table is looked up once for the whole batch.
+     *
+     * @param numbers the positive Long input numbers
+     * @param width   the width of the digits, has to be at least 1
+     * @param height  the height of the digits, has to be at least 1
+     * @return the results in the same order as the input numbers
+     */
+    public static String[] numbersToLcd(long[] numbers, int width, int height) {
+        return new LcdRenderer(width, height).renderAll(numbers);
+    }
 
-        return sb.toString();
+    /**
+     * Converts input integer number to LCD format and writes it to the given sink,
+     * e.g. a {@link com.meunier.output.ConsoleSink} to print it.
+     *
+     * @param number a positive Integer input number
+     * @param sink   the sink to write the result to
+     * @return the result String that displays the input number in LCD format.
+     * @throws IOException if the sink fails to write the result
+     */
+    public static String numbersToLcd(int number, LcdSink sink) throws IOException {
+        String response = numbersToLcd(number);
+        sink.write(response);
+        return response;
+    }
+
+    /**
+     * Converts input integer number to LCD format with custom sized digits, and writes it to the given sink.
+     *
+     * @param number a positive Integer input number
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @param sink   the sink to write the result to
+     * @return the result String that displays the input number in LCD format.
+     * @throws IOException if the sink fails to write the result
+     */
+    public static String numbersToLcd(int number, int width, int height, LcdSink sink) throws IOException {
+        String response = numbersToLcd(number, width, height);
+        sink.write(response);
+        return response;
     }
 
 }
@@ -0,0 +1,209 @@
+package com.meunier;
+
+import java.nio.CharBuffer;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Renders large batches and very long numbers on a fork/join pool.
+ * <p>
+ * Batches are split into ranges of numbers, and long digit sequences into ranges of digit columns.
+ * Every range writes a disjoint part of a preallocated result, so the output is identical to
+ * the sequential {@link LcdRenderer} methods. Inputs shorter than the threshold are rendered
+ * sequentially on the calling thread.
+ */
+public final class ParallelLcdRenderer {
+
+    private static final int DEFAULT_THRESHOLD = 4096;
+
+    private final LcdRenderer renderer;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Creates a parallel renderer on the common fork/join pool, with the default threshold.
+     *
+     * @param renderer the renderer defining the digit size
+     */
+    public ParallelLcdRenderer(LcdRenderer renderer) {
+        this(renderer, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * @param renderer  the renderer defining the digit size
+     * @param pool      the pool to run on, its parallelism decides how many workers are used
+     * @param threshold the number of numbers or digits below which work is not split any further
+     */
+    public ParallelLcdRenderer(LcdRenderer renderer, ForkJoinPool pool, int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold has to be at least 1!");
+        }
+
+        this.renderer = Objects.requireNonNull(renderer, "Renderer cannot be null!");
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null!");
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Converts a batch of long numbers to Strings displaying the numbers in LCD format.
+     *
+     * @param numbers the positive Long input numbers
+     * @return the results in the same order as the input numbers
+     */
+    public String[] renderAll(long[] numbers) {
+        if (numbers.length < threshold) {
+            return renderer.renderAll(numbers);
+        }
+
+        String[] results = new String[numbers.length];
+        pool.invoke(new BatchTask(numbers, 0, numbers.length, results));
+        return results;
+    }
+
+    /**
+     * Converts a batch of long numbers to one String, with the separator between two results.
+     * The result is composed in a single preallocated buffer.
+     *
+     * @param numbers   the positive Long input numbers
+     * @param separator the separator written between two results
+     * @return the joined results
+     */
+    public String renderAll(long[] numbers, CharSequence separator) {
+        long[] offsets = new long[numbers.length + 1];
+        for (int i = 0; i < numbers.length; i++) {
+            offsets[i + 1] = offsets[i] + renderer.renderedLength(numbers[i]) + (i > 0 ? separator.length() : 0);
+        }
+
+        long length = offsets[numbers.length];
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Batch is too long to render into a String!");
+        }
+
+        char[] dest = new char[(int) length];
+        JoinTask task = new JoinTask(numbers, 0, numbers.length, offsets, separator, dest);
+        if (numbers.length < threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return new String(dest);
+    }
+
+    /**
+     * Converts a sequence of decimal digits to a String displaying the digits in LCD format.
+     * Every line of the result is preallocated, and ranges of digit columns are filled in parallel.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @return the result String that displays the digits in LCD format.
+     */
+    public String render(CharSequence digits) {
+        if (digits.length() < threshold) {
+            return renderer.render(digits);
+        }
+
+        long length = renderer.renderedLength(digits);
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Input is too long to render into a String, use renderRows instead!");
+        }
+
+        char[] dest = new char[(int) length];
+        pool.invoke(new ColumnTask(digits, 0, digits.length(), dest));
+        return new String(dest);
+    }
+
+    private final class BatchTask extends RecursiveAction {
+        private final long[] numbers;
+        private final int from;
+        private final int to;
+        private final String[] results;
+
+        private BatchTask(long[] numbers, int from, int to, String[] results) {
+            this.numbers = numbers;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                renderer.renderAll(numbers, from, to, results);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(numbers, from, mid, results), new BatchTask(numbers, mid, to, results));
+        }
+    }
+
+    private final class JoinTask extends RecursiveAction {
+        private final long[] numbers;
+        private final int from;
+        private final int to;
+        private final long[] offsets;
+        private final CharSequence separator;
+        private final char[] dest;
+
+        private JoinTask(long[] numbers, int from, int to, long[] offsets, CharSequence separator, char[] dest) {
+            this.numbers = numbers;
+            this.from = from;
+            this.to = to;
+            this.offsets = offsets;
+            this.separator = separator;
+            this.dest = dest;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                int start = (int) offsets[from];
+                CharBuffer slice = CharBuffer.wrap(dest, start, (int) offsets[to] - start);
+                for (int i = from; i < to; i++) {
+                    if (i > 0) {
+                        slice.append(separator);
+                    }
+                    renderer.render(numbers[i], slice);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new JoinTask(numbers, from, mid, offsets, separator, dest),
+                    new JoinTask(numbers, mid, to, offsets, separator, dest));
+        }
+    }
+
+    private final class ColumnTask extends RecursiveAction {
+        private final CharSequence digits;
+        private final int from;
+        private final int to;
+        private final char[] dest;
+
+        private ColumnTask(CharSequence digits, int from, int to, char[] dest) {
+            this.digits = digits;
+            this.from = from;
+            this.to = to;
+            this.dest = dest;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                renderer.writeDigitColumns(digits, from, to, dest);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new ColumnTask(digits, from, mid, dest), new ColumnTask(digits, mid, to, dest));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.meunier;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded cache of fully rendered results, keyed by number, width and height.
+ * <p>
+ * The cache is split into lock-striped LRU segments, so threads rendering different numbers
+ * rarely wait on each other. Its size is bounded by an estimate of the memory held by the cached
+ * Strings and entries, not by the number of entries. Rendering always happens outside the locks;
+ * two threads missing on the same key may both render it, which gives the same result.
+ * Lookups reuse a probe key per segment, so hits allocate nothing.
+ */
+public final class RenderedOutputCache {
+
+    private static final int STRIPE_COUNT = 16;
+
+    // rough per-entry overhead: map node, key object and String header
+    private static final long ENTRY_OVERHEAD = 48 + 32 + 40;
+
+    private final long maxBytes;
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder oversized = new LongAdder();
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /**
+     * Creates a cache. The budget is split evenly between {@value #STRIPE_COUNT} segments, and
+     * a result is only cached if it fits into one segment: results estimated larger than
+     * {@link #getMaxEntryBytes()}, a sixteenth of the budget, are rendered on every call and
+     * counted in {@link #getOversizedCount()}.
+     *
+     * @param maxBytes the memory budget of the cache in bytes, has to be at least 1
+     */
+    public RenderedOutputCache(long maxBytes) {
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Memory budget has to be at least 1 byte!");
+        }
+
+        this.maxBytes = maxBytes;
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxBytes / STRIPE_COUNT));
+        }
+    }
+
+    /**
+     * Returns the cached result for the key, or renders and caches it.
+     * Nothing is cached when rendering throws.
+     *
+     * @param number   the input number
+     * @param width    the width of the digits, or -1 for regular LCD-style digits
+     * @param height   the height of the digits, or -1 for regular LCD-style digits
+     * @param renderer renders the number on a miss
+     * @return the rendered result
+     */
+    public String get(long number, int width, int height, LongFunction<String> renderer) {
+        Stripe stripe = stripes[Key.hash(number, width, height) & (STRIPE_COUNT - 1)];
+
+        String cached = stripe.get(number, width, height);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        String rendered = renderer.apply(number);
+        stripe.put(new Key(number, width, height), rendered);
+        return rendered;
+    }
+
+    /**
+     * Removes all entries. Counters are kept.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the estimated size in bytes above which a result is never cached
+     */
+    public long getMaxEntryBytes() {
+        return stripes[0].maxBytes;
+    }
+
+    /**
+     * @return the estimated memory held by the cached entries, in bytes
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of results that were not cached because they are larger than {@link #getMaxEntryBytes()}
+     */
+    public long getOversizedCount() {
+        return oversized.sum();
+    }
+
+    /**
+     * @return the share of lookups that were served from the cache, or 0 if there were none
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Estimates the memory held by one cached result.
+     * Rendered results only contain ASCII characters, so Strings store one byte per char.
+     */
+    static long estimateBytes(String rendered) {
+        return ENTRY_OVERHEAD + 16 + rendered.length();
+    }
+
+    private final class Stripe {
+        private final long maxBytes;
+        private final LinkedHashMap<Key, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+        // only used under the lock, never stored in the map
+        private final Key probe = new Key(0, 0, 0);
+        private long bytes;
+
+        private Stripe(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        private synchronized String get(long number, int width, int height) {
+            probe.number = number;
+            probe.width = width;
+            probe.height = height;
+            return entries.get(probe);
+        }
+
+        private synchronized void put(Key key, String rendered) {
+            long size = estimateBytes(rendered);
+            if (size > maxBytes) {
+                oversized.increment();
+                return;
+            }
+
+            String previous = entries.put(key, rendered);
+            if (previous != null) {
+                release(estimateBytes(previous));
+            }
+            reserve(size);
+
+            Iterator<String> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                long released = estimateBytes(eldest.next());
+                eldest.remove();
+                release(released);
+                evictions.increment();
+            }
+        }
+
+        private synchronized void clear() {
+            release(bytes);
+            entries.clear();
+        }
+
+        private synchronized int size() {
+            return entries.size();
+        }
+
+        private void reserve(long size) {
+            bytes += size;
+            usedBytes.addAndGet(size);
+        }
+
+        private void release(long size) {
+            bytes -= size;
+            usedBytes.addAndGet(-size);
+        }
+    }
+
+    private static final class Key {
+        // only a stripe's probe key is ever changed
+        private long number;
+        private int width;
+        private int height;
+
+        private Key(long number, int width, int height) {
+            this.number = number;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return number == other.number && width == other.width && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash(number, width, height);
+        }
+
+        private static int hash(long number, int width, int height) {
+            int hash = Long.hashCode(number);
+            hash = 31 * hash + width;
+            hash = 31 * hash + height;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
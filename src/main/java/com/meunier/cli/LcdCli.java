@@ -0,0 +1,288 @@
+package com.meunier.cli;
+
+import com.meunier.LcdRenderer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Command-line tool rendering numbers read line by line from stdin or files.
+ * <p>
+ * Input is processed in chunks of lines, so memory use is bounded by the chunk size no matter how long
+ * the input is. With several threads, each chunk is split between workers and the results are still
+ * written in input order.
+ */
+public final class LcdCli {
+
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: numbers-to-lcd [options] [file...]",
+            "Reads one number per line from the files, or from stdin if none or '-' is given.",
+            "",
+            "  -w, --width <n>       width of the digits (default: regular 3-line digits, 1 if only -h is given)",
+            "  -h, --height <n>      height of the digits (default: regular 3-line digits, 1 if only -w is given)",
+            "  -s, --separator <s>   written between two results, \\n and \\t are unescaped (default: \\n\\n)",
+            "  -t, --threads <n>     number of rendering threads (default: 1)",
+            "  -c, --chunk-size <n>  number of lines read and rendered at once (default: 4096)",
+            "      --stats           print the throughput in lines per second to stderr",
+            "      --help            print this help");
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private int width = -1;
+    private int height = -1;
+    private String separator = "\n\n";
+    private int threads = 1;
+    private int chunkSize = 4096;
+    private boolean stats;
+    private final List<String> files = new ArrayList<>();
+
+    private long lineCount;
+    private long errorCount;
+    // position in the input currently read, for error messages
+    private String currentFile;
+    private long fileLineCount;
+    private boolean first = true;
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.in, System.out, System.err));
+    }
+
+    /**
+     * Runs the tool with the given arguments and streams.
+     *
+     * @param args the command-line arguments
+     * @param in   the stream to read numbers from when no file is given
+     * @param out  the stream to write the results to
+     * @param err  the stream to write errors and statistics to
+     * @return the exit code: 0 on success, 1 on invalid arguments or I/O errors, 2 if some lines were invalid
+     */
+    public static int run(String[] args, InputStream in, PrintStream out, PrintStream err) {
+        LcdCli cli = new LcdCli();
+        try {
+            if (!cli.parse(args, err)) {
+                return 1;
+            }
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println(USAGE);
+            return 1;
+        }
+
+        try {
+            return cli.execute(in, out, err);
+        } catch (IOException e) {
+            err.println("I/O error: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private boolean parse(String[] args, PrintStream err) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-w":
+                case "--width":
+                    width = parsePositive(args, ++i);
+                    break;
+                case "-h":
+                case "--height":
+                    height = parsePositive(args, ++i);
+                    break;
+                case "-s":
+                case "--separator":
+                    separator = unescape(value(args, ++i));
+                    break;
+                case "-t":
+                case "--threads":
+                    threads = parsePositive(args, ++i);
+                    break;
+                case "-c":
+                case "--chunk-size":
+                    chunkSize = parsePositive(args, ++i);
+                    break;
+                case "--stats":
+                    stats = true;
+                    break;
+                case "--help":
+                    err.println(USAGE);
+                    return false;
+                default:
+                    if (args[i].startsWith("-") && args[i].length() > 1) {
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                    }
+                    files.add(args[i]);
+            }
+        }
+
+        if (files.isEmpty()) {
+            files.add("-");
+        }
+        return true;
+    }
+
+    private int execute(InputStream in, PrintStream out, PrintStream err) throws IOException {
+        LcdRenderer renderer;
+        if (width < 0 && height < 0) {
+            renderer = new LcdRenderer();
+        } else {
+            renderer = new LcdRenderer(Math.max(width, 1), Math.max(height, 1));
+        }
+
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        long start = System.nanoTime();
+
+        try {
+            for (String file : files) {
+                BufferedReader reader = "-".equals(file)
+                        ? new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))
+                        : Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8);
+                currentFile = file;
+                fileLineCount = 0;
+                try {
+                    processInput(reader, renderer, executor, writer, err);
+                } finally {
+                    if (!"-".equals(file)) {
+                        reader.close();
+                    }
+                }
+            }
+            if (!first) {
+                writer.write('\n');
+            }
+        } finally {
+            // keep the results of the inputs read so far if a later one fails
+            try {
+                writer.flush();
+            } finally {
+                if (executor != null) {
+                    executor.shutdownNow();
+                }
+            }
+        }
+
+        if (stats) {
+            double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+            err.printf("Rendered %d lines in %.3f s (%.0f lines/s)%n", lineCount, seconds, lineCount / seconds);
+        }
+        return errorCount > 0 ? 2 : 0;
+    }
+
+    private void processInput(BufferedReader reader, LcdRenderer renderer, ExecutorService executor,
+                              Writer writer, PrintStream err) throws IOException {
+        List<String> chunk = new ArrayList<>(chunkSize);
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            chunk.add(line.trim());
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, renderer, executor, writer, err);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, renderer, executor, writer, err);
+        }
+    }
+
+    private void processChunk(List<String> chunk, LcdRenderer renderer, ExecutorService executor,
+                              Writer writer, PrintStream err) throws IOException {
+        String[] results;
+        if (executor == null) {
+            results = renderRange(chunk, 0, chunk.size(), renderer);
+        } else {
+            results = new String[chunk.size()];
+            int step = (chunk.size() + threads - 1) / threads;
+            List<Future<String[]>> parts = new ArrayList<>();
+            for (int from = 0; from < chunk.size(); from += step) {
+                int partFrom = from;
+                int partTo = Math.min(from + step, chunk.size());
+                parts.add(executor.submit(() -> renderRange(chunk, partFrom, partTo, renderer)));
+            }
+            int index = 0;
+            for (Future<String[]> part : parts) {
+                String[] partResults = await(part);
+                System.arraycopy(partResults, 0, results, index, partResults.length);
+                index += partResults.length;
+            }
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            lineCount++;
+            fileLineCount++;
+            if (chunk.get(i).isEmpty()) {
+                continue;
+            }
+            if (results[i] == null) {
+                errorCount++;
+                err.println("Line " + fileLineCount + " of " + currentFile + ": invalid number '" + chunk.get(i) + "'");
+                continue;
+            }
+            if (!first) {
+                writer.write(separator);
+            }
+            writer.write(results[i]);
+            first = false;
+        }
+    }
+
+    /**
+     * Renders a range of input lines. Blank and invalid lines get a null result.
+     */
+    private static String[] renderRange(List<String> chunk, int from, int to, LcdRenderer renderer) {
+        String[] results = new String[to - from];
+        for (int i = from; i < to; i++) {
+            String line = chunk.get(i);
+            if (!line.isEmpty()) {
+                try {
+                    results[i - from] = renderer.render(line);
+                } catch (IllegalArgumentException e) {
+                    results[i - from] = null;
+                }
+            }
+        }
+        return results;
+    }
+
+    private static String[] await(Future<String[]> part) throws IOException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while rendering");
+        } catch (ExecutionException e) {
+            throw new IOException("Rendering failed", e.getCause());
+        }
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[i - 1]);
+        }
+        return args[i];
+    }
+
+    private static int parsePositive(String[] args, int i) {
+        String value = value(args, i);
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1) {
+                throw new IllegalArgumentException(args[i - 1] + " has to be at least 1!");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + args[i - 1] + ": " + value);
+        }
+    }
+
+    private static String unescape(String value) {
+        return value.replace("\\n", "\n").replace("\\t", "\t");
+    }
+}
@@ -0,0 +1,68 @@
+package com.meunier.display;
+
+/**
+ * A rectangle of a display frame that changed in an update, in lines and columns.
+ */
+public final class DirtyRegion {
+
+    private final int firstLine;
+    private final int lineCount;
+    private final int firstColumn;
+    private final int columnCount;
+
+    /**
+     * @param firstLine   the first changed line
+     * @param lineCount   the number of changed lines
+     * @param firstColumn the first changed column
+     * @param columnCount the number of changed columns
+     */
+    public DirtyRegion(int firstLine, int lineCount, int firstColumn, int columnCount) {
+        this.firstLine = firstLine;
+        this.lineCount = lineCount;
+        this.firstColumn = firstColumn;
+        this.columnCount = columnCount;
+    }
+
+    public int getFirstLine() {
+        return firstLine;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getFirstColumn() {
+        return firstColumn;
+    }
+
+    public int getColumnCount() {
+        return columnCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DirtyRegion)) {
+            return false;
+        }
+        DirtyRegion other = (DirtyRegion) o;
+        return firstLine == other.firstLine && lineCount == other.lineCount
+                && firstColumn == other.firstColumn && columnCount == other.columnCount;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = firstLine;
+        hash = 31 * hash + lineCount;
+        hash = 31 * hash + firstColumn;
+        hash = 31 * hash + columnCount;
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "DirtyRegion{lines " + firstLine + "+" + lineCount + ", columns " + firstColumn + "+" + columnCount + "}";
+    }
+}
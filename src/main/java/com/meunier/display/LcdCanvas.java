@@ -0,0 +1,205 @@
+package com.meunier.display;
+
+import com.meunier.LcdRenderer;
+import com.meunier.model.Appendables;
+import com.meunier.model.GlyphTable;
+import com.meunier.model.Segments;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * A fixed-size character frame buffer that many LCD numbers can be drawn into, at any position and size.
+ * <p>
+ * Glyph lines are copied straight from the renderers' glyph tables into one preallocated array,
+ * with no intermediate Strings. Drawing is clipped at the edges of the canvas, and later drawings
+ * overwrite earlier ones. After construction, composing and flushing a frame allocates nothing.
+ * <p>
+ * Not thread-safe; a frame has to be composed and flushed by one thread at a time.
+ */
+public final class LcdCanvas {
+
+    private static final char BLANK = ' ';
+
+    private final int columns;
+    private final int lines;
+    private final char[] frame;
+
+    /**
+     * Creates a blank canvas.
+     *
+     * @param columns the number of characters per line, has to be at least 1
+     * @param lines   the number of lines, has to be at least 1
+     */
+    public LcdCanvas(int columns, int lines) {
+        if (columns < 1 || lines < 1) {
+            throw new IllegalArgumentException("Width and height have to be at least 1!");
+        }
+        if ((long) columns * lines > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Canvas is too large!");
+        }
+
+        this.columns = columns;
+        this.lines = lines;
+        this.frame = new char[columns * lines];
+        clear();
+    }
+
+    /**
+     * Draws a number with its top left corner at the given position.
+     *
+     * @param renderer the renderer defining the digit size
+     * @param number   a positive Long input number
+     * @param x        the column of the left edge, can be outside of the canvas
+     * @param y        the line of the top edge, can be outside of the canvas
+     * @return the number of columns the number takes, drawn or not, for laying out the next item
+     */
+    public int draw(LcdRenderer renderer, long number, int x, int y) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Input number cannot be negative!");
+        }
+
+        GlyphTable table = renderer.getGlyphTable();
+        long highestDivisor = 1;
+        int digitCount = 1;
+        while (number / highestDivisor >= 10) {
+            highestDivisor *= 10;
+            digitCount++;
+        }
+
+        long left = x;
+        for (long divisor = highestDivisor; divisor > 0; divisor /= 10) {
+            drawGlyph(table, (int) (number / divisor % 10), left, y);
+            left += table.getGlyphWidth();
+        }
+        return digitCount * table.getGlyphWidth();
+    }
+
+    /**
+     * Draws text with its top left corner at the given position.
+     * Nothing is drawn if the text contains a character without a glyph.
+     *
+     * @param renderer the renderer defining the character size
+     * @param text     the text to draw, can contain digits, A-F, '-', '.', ':' and spaces
+     * @param x        the column of the left edge, can be outside of the canvas
+     * @param y        the line of the top edge, can be outside of the canvas
+     * @return the number of columns the text takes, drawn or not, for laying out the next item
+     * @see LcdRenderer#renderText(CharSequence)
+     */
+    public int drawText(LcdRenderer renderer, CharSequence text, int x, int y) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Segments.getGlyphIndex(text.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Input cannot contain '" + text.charAt(i) + "', found at " + i);
+            }
+        }
+
+        GlyphTable table = renderer.getGlyphTable();
+        for (int i = 0; i < text.length(); i++) {
+            drawGlyph(table, Segments.getGlyphIndex(text.charAt(i)), x + (long) i * table.getGlyphWidth(), y);
+        }
+        return text.length() * table.getGlyphWidth();
+    }
+
+    /**
+     * Fills a region with a character. The region is clipped at the edges of the canvas.
+     *
+     * @param x           the column of the left edge
+     * @param y           the line of the top edge
+     * @param regionWidth the number of columns to fill
+     * @param regionLines the number of lines to fill
+     * @param c           the character to fill with
+     */
+    public void fill(int x, int y, int regionWidth, int regionLines, char c) {
+        int fromColumn = Math.max(x, 0);
+        int toColumn = (int) Math.min((long) x + regionWidth, columns);
+        int fromLine = Math.max(y, 0);
+        int toLine = (int) Math.min((long) y + regionLines, lines);
+
+        for (int line = fromLine; line < toLine && fromColumn < toColumn; line++) {
+            Arrays.fill(frame, line * columns + fromColumn, line * columns + toColumn, c);
+        }
+    }
+
+    /**
+     * Blanks a region. The region is clipped at the edges of the canvas.
+     *
+     * @param x           the column of the left edge
+     * @param y           the line of the top edge
+     * @param regionWidth the number of columns to blank
+     * @param regionLines the number of lines to blank
+     */
+    public void clear(int x, int y, int regionWidth, int regionLines) {
+        fill(x, y, regionWidth, regionLines, BLANK);
+    }
+
+    /**
+     * Blanks the whole canvas.
+     */
+    public void clear() {
+        Arrays.fill(frame, BLANK);
+    }
+
+    /**
+     * Appends the whole frame to the destination, lines separated by new line characters.
+     * StringBuilders, CharBuffers and Writers get every line in one bulk copy.
+     *
+     * @param out the destination to append the frame to
+     * @throws IOException if the destination fails to append
+     */
+    public void flush(Appendable out) throws IOException {
+        for (int line = 0; line < lines; line++) {
+            if (line > 0) {
+                out.append('\n');
+            }
+            Appendables.append(frame, line * columns, columns, out);
+        }
+    }
+
+    /**
+     * @return the number of characters per line
+     */
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the number of lines
+     */
+    public int getLines() {
+        return lines;
+    }
+
+    /**
+     * @return the whole frame as a new String, lines separated by new line characters
+     */
+    public String getFrame() {
+        StringBuilder sb = new StringBuilder(frame.length + lines - 1);
+        try {
+            flush(sb);
+        } catch (IOException e) {
+            // StringBuilder never throws IOException
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Copies the visible part of one glyph into the frame.
+     * Positions are longs, so glyphs far outside the canvas are clipped instead of overflowing.
+     */
+    private void drawGlyph(GlyphTable table, int glyph, long x, long y) {
+        if (x >= columns || y >= lines || x + table.getGlyphWidth() <= 0 || y + table.getLineCount() <= 0) {
+            return;
+        }
+
+        // both ranges lie within the glyph now, so they fit an int
+        int from = (int) Math.max(0, -x);
+        int to = (int) Math.min(table.getGlyphWidth(), columns - x);
+        int firstLine = (int) Math.max(0, -y);
+        int lastLine = (int) Math.min(table.getLineCount(), lines - y);
+        for (int line = firstLine; line < lastLine; line++) {
+            table.copyLine(glyph, line, from, to - from, frame, (int) ((y + line) * columns + x + from));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.meunier.display;
+
+import com.meunier.LcdRenderer;
+import com.meunier.model.GlyphTable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A stateful LCD display holding the last rendered frame of a number.
+ * <p>
+ * The frame has the same layout as {@link LcdRenderer#render(long)}: every digit owns a fixed range
+ * of columns on every line. {@link #update(long)} therefore only rewrites the columns of the digits
+ * that changed, and only on the lines where the old and new digit differ, and reports those
+ * rectangles so consumers can redraw or send only the difference.
+ * When the number of digits changes, the whole frame is rebuilt and reported dirty.
+ * <p>
+ * Not thread-safe; updates have to come from one thread at a time.
+ */
+public final class LcdDisplay {
+
+    private static final int MAX_DIGITS = 19;
+
+    private final GlyphTable glyphTable;
+    private final int[] digits = new int[MAX_DIGITS];
+    private final int[] newDigits = new int[MAX_DIGITS];
+    // first and last changed line of every digit in the last update, -1 if the digit did not change
+    private final int[] firstChangedLines = new int[MAX_DIGITS];
+    private final int[] lastChangedLines = new int[MAX_DIGITS];
+
+    private long value;
+    private int digitCount;
+    private char[] frame;
+
+    /**
+     * @param renderer     the renderer defining the digit size
+     * @param initialValue the positive Long number to display first
+     */
+    public LcdDisplay(LcdRenderer renderer, long initialValue) {
+        this.glyphTable = renderer.getGlyphTable();
+        this.value = initialValue;
+        this.digitCount = splitDigits(initialValue, digits);
+        this.frame = new char[frameLength(digitCount)];
+        redraw();
+    }
+
+    /**
+     * Displays a new value, rewriting only the parts of the frame that change.
+     *
+     * @param newValue the positive Long number to display
+     * @return the changed regions of the frame, from left to right; empty if nothing changed
+     */
+    public List<DirtyRegion> update(long newValue) {
+        int newDigitCount = splitDigits(newValue, newDigits);
+        value = newValue;
+
+        if (newDigitCount != digitCount) {
+            digitCount = newDigitCount;
+            System.arraycopy(newDigits, 0, digits, 0, newDigitCount);
+            frame = new char[frameLength(digitCount)];
+            redraw();
+            return Collections.singletonList(new DirtyRegion(0, glyphTable.getLineCount(), 0, getColumnCount()));
+        }
+
+        for (int i = 0; i < digitCount; i++) {
+            int oldDigit = digits[i];
+            int newDigit = newDigits[i];
+            firstChangedLines[i] = -1;
+            lastChangedLines[i] = -1;
+            if (oldDigit == newDigit) {
+                continue;
+            }
+
+            for (int line = 0; line < glyphTable.getLineCount(); line++) {
+                if (!glyphTable.isSameLine(oldDigit, newDigit, line)) {
+                    glyphTable.copyLine(newDigit, line, frame, offset(line, i));
+                    if (firstChangedLines[i] < 0) {
+                        firstChangedLines[i] = line;
+                    }
+                    lastChangedLines[i] = line;
+                }
+            }
+            digits[i] = newDigit;
+        }
+
+        return collectRegions(firstChangedLines, lastChangedLines, digitCount, glyphTable.getGlyphWidth());
+    }
+
+    /**
+     * Merges neighbouring changed digits into regions spanning their changed lines.
+     * A digit whose glyph differs on no line, or did not change at all, ends the current region.
+     *
+     * @param firstLines the first changed line of every digit, -1 if none changed
+     * @param lastLines  the last changed line of every digit, -1 if none changed
+     * @param digitCount the number of digits
+     * @param glyphWidth the number of columns of every digit
+     * @return the changed regions, from left to right
+     */
+    static List<DirtyRegion> collectRegions(int[] firstLines, int[] lastLines, int digitCount, int glyphWidth) {
+        List<DirtyRegion> regions = new ArrayList<>();
+        int runStart = -1;
+        int runFirstLine = 0;
+        int runLastLine = 0;
+
+        for (int i = 0; i < digitCount; i++) {
+            if (firstLines[i] < 0) {
+                if (runStart >= 0) {
+                    regions.add(region(runStart, i, runFirstLine, runLastLine, glyphWidth));
+                    runStart = -1;
+                }
+                continue;
+            }
+
+            if (runStart < 0) {
+                runStart = i;
+                runFirstLine = firstLines[i];
+                runLastLine = lastLines[i];
+            } else {
+                runFirstLine = Math.min(runFirstLine, firstLines[i]);
+                runLastLine = Math.max(runLastLine, lastLines[i]);
+            }
+        }
+
+        if (runStart >= 0) {
+            regions.add(region(runStart, digitCount, runFirstLine, runLastLine, glyphWidth));
+        }
+        return regions;
+    }
+
+    /**
+     * @return the number currently displayed
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * @return the number of lines of the frame
+     */
+    public int getLineCount() {
+        return glyphTable.getLineCount();
+    }
+
+    /**
+     * @return the number of columns of every line of the frame
+     */
+    public int getColumnCount() {
+        return digitCount * glyphTable.getGlyphWidth();
+    }
+
+    /**
+     * @return the whole frame, identical to rendering the current value
+     */
+    public String getFrame() {
+        return new String(frame);
+    }
+
+    /**
+     * Appends the whole frame to the destination.
+     *
+     * @param out the destination to append the frame to
+     * @throws IOException if the destination fails to append
+     */
+    public void writeTo(Appendable out) throws IOException {
+        for (char c : frame) {
+            out.append(c);
+        }
+    }
+
+    /**
+     * Appends the characters of one region to the destination, line by line, separated by new line characters.
+     *
+     * @param region a region reported by {@link #update(long)}
+     * @param out    the destination to append the region to
+     * @throws IOException if the destination fails to append
+     */
+    public void writeRegion(DirtyRegion region, Appendable out) throws IOException {
+        for (int line = region.getFirstLine(); line < region.getFirstLine() + region.getLineCount(); line++) {
+            if (line > region.getFirstLine()) {
+                out.append('\n');
+            }
+            int start = line * (getColumnCount() + 1) + region.getFirstColumn();
+            for (int i = start; i < start + region.getColumnCount(); i++) {
+                out.append(frame[i]);
+            }
+        }
+    }
+
+    private void redraw() {
+        int columnCount = getColumnCount();
+        for (int line = 0; line < glyphTable.getLineCount(); line++) {
+            for (int i = 0; i < digitCount; i++) {
+                glyphTable.copyLine(digits[i], line, frame, offset(line, i));
+            }
+            if (line > 0) {
+                frame[line * (columnCount + 1) - 1] = '\n';
+            }
+        }
+    }
+
+    private static DirtyRegion region(int fromDigit, int toDigit, int firstLine, int lastLine, int glyphWidth) {
+        return new DirtyRegion(firstLine, lastLine - firstLine + 1, fromDigit * glyphWidth, (toDigit - fromDigit) * glyphWidth);
+    }
+
+    private int offset(int line, int digitIndex) {
+        return line * (getColumnCount() + 1) + digitIndex * glyphTable.getGlyphWidth();
+    }
+
+    private int frameLength(int digitCount) {
+        int lineCount = glyphTable.getLineCount();
+        return lineCount * digitCount * glyphTable.getGlyphWidth() + lineCount - 1;
+    }
+
+    /**
+     * Splits the number into its decimal digits, most significant first.
+     *
+     * @return the number of digits
+     */
+    private static int splitDigits(long number, int[] dest) {
+        if (number < 0) {
+            throw new IllegalArgumentException("Input number cannot be negative!");
+        }
+
+        int count = 0;
+        long rest = number;
+        do {
+            count++;
+            rest /= 10;
+        } while (rest > 0);
+
+        rest = number;
+        for (int i = count - 1; i >= 0; i--) {
+            dest[i] = (int) (rest % 10);
+            rest /= 10;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,294 @@
+package com.meunier.display;
+
+import com.meunier.LcdRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Renders many live displays at a fixed refresh rate, however often their values change.
+ * <p>
+ * Updates only store the latest value of a display and mark it dirty; they never render.
+ * On every tick, the displays marked dirty since the last tick are rendered once, split between a
+ * fixed number of worker threads, and handed to the {@link FrameListener}. A display whose latest
+ * value is the one it was last rendered with is skipped. A tick waits for its renders, so every
+ * display is rendered at most once per tick; a tick that takes longer than the period is counted
+ * as an overrun and the next one starts late instead of overlapping.
+ *
+ * @param <K> the type of the display identifiers
+ */
+public final class RefreshScheduler<K> implements AutoCloseable {
+
+    /**
+     * Receives the rendered frames. Called from the worker threads, at most once per display and tick.
+     *
+     * @param <K> the type of the display identifiers
+     */
+    @FunctionalInterface
+    public interface FrameListener<K> {
+        void onFrame(K displayId, long value, String frame);
+    }
+
+    private final LcdRenderer renderer;
+    private final long tickNanos;
+    private final int workerCount;
+    private final FrameListener<K> listener;
+
+    private final ConcurrentHashMap<K, Slot<K>> displays = new ConcurrentHashMap<>();
+    private final Queue<Slot<K>> dirty = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService workers;
+
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder unchangedSkips = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong overruns = new AtomicLong();
+    private volatile long lastTickNanos;
+
+    /**
+     * Creates a scheduler. It does not render until {@link #start()}.
+     *
+     * @param renderer    the renderer defining the digit size of all displays
+     * @param tickMillis  the refresh period in milliseconds, has to be at least 1
+     * @param workerCount the number of rendering threads, has to be at least 1
+     * @param listener    receives the rendered frames
+     */
+    public RefreshScheduler(LcdRenderer renderer, long tickMillis, int workerCount, FrameListener<K> listener) {
+        if (tickMillis < 1) {
+            throw new IllegalArgumentException("Tick has to be at least 1 millisecond!");
+        }
+        if (workerCount < 1) {
+            throw new IllegalArgumentException("Worker count has to be at least 1!");
+        }
+
+        this.renderer = Objects.requireNonNull(renderer, "Renderer cannot be null!");
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.workerCount = workerCount;
+        this.listener = Objects.requireNonNull(listener, "Listener cannot be null!");
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("lcd-refresh-tick"));
+        this.workers = Executors.newFixedThreadPool(workerCount, daemon("lcd-refresh-worker"));
+    }
+
+    /**
+     * Starts ticking at the configured rate.
+     */
+    public void start() {
+        timer.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops ticking and rendering. Pending updates are dropped.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Sets the latest value of a display, which is rendered on the next tick.
+     * Updates arriving before that tick replace each other.
+     *
+     * @param displayId the display to update
+     * @param value     a positive Long number
+     */
+    public void update(K displayId, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Input number cannot be negative!");
+        }
+
+        updates.increment();
+        Slot<K> slot = displays.computeIfAbsent(displayId, Slot::new);
+        slot.latest = value;
+        if (!slot.dirty.getAndSet(true)) {
+            queueDepth.incrementAndGet();
+            dirty.add(slot);
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    /**
+     * Forgets a display. An update already pending for it may still be rendered once.
+     *
+     * @param displayId the display to remove
+     */
+    public void remove(K displayId) {
+        displays.remove(displayId);
+    }
+
+    /**
+     * Renders every display that was updated since the last tick.
+     */
+    void tick() {
+        long start = System.nanoTime();
+
+        List<Slot<K>> pending = new ArrayList<>(queueDepth.get());
+        Slot<K> slot;
+        while ((slot = dirty.poll()) != null) {
+            queueDepth.decrementAndGet();
+            pending.add(slot);
+        }
+
+        if (!pending.isEmpty()) {
+            renderAll(pending);
+        }
+
+        long duration = System.nanoTime() - start;
+        lastTickNanos = duration;
+        ticks.incrementAndGet();
+        if (duration > tickNanos) {
+            overruns.incrementAndGet();
+        }
+    }
+
+    private void renderAll(List<Slot<K>> pending) {
+        int step = (pending.size() + workerCount - 1) / workerCount;
+        List<Callable<Void>> parts = new ArrayList<>(workerCount);
+        for (int from = 0; from < pending.size(); from += step) {
+            List<Slot<K>> part = pending.subList(from, Math.min(from + step, pending.size()));
+            parts.add(() -> {
+                for (Slot<K> slot : part) {
+                    render(slot);
+                }
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> part : workers.invokeAll(parts)) {
+                part.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            failures.increment();
+        }
+    }
+
+    private void render(Slot<K> slot) {
+        // clear the mark before reading, so an update racing with this render is picked up next tick
+        slot.dirty.set(false);
+        long value = slot.latest;
+
+        if (slot.rendered && slot.renderedValue == value) {
+            unchangedSkips.increment();
+            return;
+        }
+
+        try {
+            listener.onFrame(slot.displayId, value, renderer.render(value));
+            slot.renderedValue = value;
+            slot.rendered = true;
+            renders.increment();
+        } catch (RuntimeException e) {
+            failures.increment();
+        }
+    }
+
+    /**
+     * @return the number of displays that received at least one update and were not removed
+     */
+    public int getDisplayCount() {
+        return displays.size();
+    }
+
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    public long getRenderCount() {
+        return renders.sum();
+    }
+
+    /**
+     * @return the number of updates that did not cause a render, because a later update replaced
+     * them before the tick or the value had not changed
+     */
+    public long getRendersSaved() {
+        return coalesced.sum() + unchangedSkips.sum();
+    }
+
+    /**
+     * @return the number of displays skipped on a tick because their value had not changed
+     */
+    public long getUnchangedSkipCount() {
+        return unchangedSkips.sum();
+    }
+
+    /**
+     * @return the number of displays waiting for the next tick
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getTickCount() {
+        return ticks.get();
+    }
+
+    /**
+     * @return the number of ticks that took longer than the refresh period
+     */
+    public long getTickOverrunCount() {
+        return overruns.get();
+    }
+
+    /**
+     * @return the duration of the last tick in nanoseconds
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * @return the number of renders that failed in the renderer or the listener
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Slot<K> {
+        private final K displayId;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile long latest;
+
+        // only accessed by the worker rendering the slot; ticks do not overlap
+        private long renderedValue;
+        private boolean rendered;
+
+        private Slot(K displayId) {
+            this.displayId = displayId;
+        }
+    }
+}
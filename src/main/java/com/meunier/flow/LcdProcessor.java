@@ -0,0 +1,328 @@
+package com.meunier.flow;
+
+import com.meunier.LcdRenderer;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Flow.Processor} that renders a stream of numbers into LCD frames.
+ * <p>
+ * Upstream numbers are only requested as the subscribers request frames: never before the first
+ * subscriber arrives, and never more than the smallest outstanding demand of all subscribers,
+ * capped at {@link #getMaxBufferCapacity()} frames per subscriber. Demand is passed upstream in
+ * batches of {@link #getBatchSize()} numbers, unless nothing is in flight and less is wanted.
+ * <p>
+ * Nothing ever blocks: {@link #onNext} only queues the number. The queued numbers are rendered in
+ * batches of up to {@link #getBatchSize()} and delivered by a single drain task on the executor,
+ * so upstream, processor and subscribers can share one thread. Subscribers attaching later only
+ * receive the frames rendered after they subscribed.
+ * <p>
+ * A negative number fails the stream: the upstream subscription is cancelled and the subscribers get the error.
+ */
+public final class LcdProcessor implements Flow.Processor<Long, String> {
+
+    private static final int DEFAULT_BATCH_SIZE = 64;
+
+    private final LcdRenderer renderer;
+    private final Executor executor;
+    private final int maxBufferedFrames;
+    private final int batchSize;
+
+    private final List<Downstream> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // requested from upstream but not received yet
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable failure;
+
+    /**
+     * Creates a processor delivering frames on the common pool, with the default buffer and batch sizes.
+     *
+     * @param renderer the renderer defining the digit size
+     */
+    public LcdProcessor(LcdRenderer renderer) {
+        this(renderer, ForkJoinPool.commonPool(), Flow.defaultBufferSize(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param renderer          the renderer defining the digit size
+     * @param executor          the executor rendering and delivering frames to the subscribers
+     * @param maxBufferedFrames the maximum number of frames buffered per subscriber, has to be at least 1
+     * @param batchSize         the number of numbers requested from upstream and rendered at once,
+     *                          has to be at least 1
+     */
+    public LcdProcessor(LcdRenderer renderer, Executor executor, int maxBufferedFrames, int batchSize) {
+        if (maxBufferedFrames < 1) {
+            throw new IllegalArgumentException("Buffer capacity has to be at least 1!");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size has to be at least 1!");
+        }
+
+        this.renderer = Objects.requireNonNull(renderer, "Renderer cannot be null!");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null!");
+        this.maxBufferedFrames = maxBufferedFrames;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+        Downstream downstream = new Downstream(Objects.requireNonNull(subscriber, "Subscriber cannot be null!"));
+        subscriber.onSubscribe(downstream);
+        subscribers.add(downstream);
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+
+        upstream = subscription;
+        drain();
+    }
+
+    @Override
+    public void onNext(Long number) {
+        if (isClosed()) {
+            // numbers already in flight after a failure are dropped
+            return;
+        }
+
+        // counted as pending before it stops being outstanding, so the drain never requests too much
+        pending.add(number);
+        pendingCount.incrementAndGet();
+        outstanding.decrementAndGet();
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        failure = throwable;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    /**
+     * @return true once upstream completed or the stream failed
+     */
+    public boolean isClosed() {
+        return upstreamDone || failure != null;
+    }
+
+    /**
+     * @return the maximum number of frames buffered per subscriber
+     */
+    public int getMaxBufferCapacity() {
+        return maxBufferedFrames;
+    }
+
+    /**
+     * @return the number of numbers requested from upstream and rendered at once
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the number of subscribers that have not cancelled or been terminated yet
+     */
+    public int getNumberOfSubscribers() {
+        return subscribers.size();
+    }
+
+    /**
+     * Schedules the drain task unless it is already scheduled or running; a running task loops again.
+     */
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+        try {
+            executor.execute(this::drainLoop);
+        } catch (RejectedExecutionException e) {
+            drainRequests.set(0);
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            while (drainOnce()) {
+                // keep going while frames move
+            }
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Delivers buffered frames, terminates finished subscribers, renders one batch and requests more from upstream.
+     *
+     * @return true if anything was delivered or rendered
+     */
+    private boolean drainOnce() {
+        boolean progress = false;
+        Throwable error = failure;
+
+        for (Downstream downstream : subscribers) {
+            if (downstream.cancelled) {
+                subscribers.remove(downstream);
+            } else if (error != null || downstream.invalidRequest != null) {
+                subscribers.remove(downstream);
+                downstream.buffer.clear();
+                downstream.subscriber.onError(error != null ? error : downstream.invalidRequest);
+            } else {
+                progress |= downstream.deliver();
+                if (upstreamDone && pendingCount.get() == 0 && downstream.buffer.isEmpty()) {
+                    subscribers.remove(downstream);
+                    downstream.subscriber.onComplete();
+                }
+            }
+        }
+
+        if (error != null) {
+            pending.clear();
+            return false;
+        }
+
+        int count = (int) Math.min(Math.min(room(), batchSize), pendingCount.get());
+        if (count > 0) {
+            renderBatch(count);
+            progress = true;
+        }
+
+        requestUpstream();
+        return progress;
+    }
+
+    /**
+     * @return how many more frames every subscriber can take: the smallest outstanding demand,
+     * capped at the buffer capacity, minus the frames already buffered; 0 without subscribers
+     */
+    private long room() {
+        long room = -1;
+        for (Downstream downstream : subscribers) {
+            long free = Math.min(maxBufferedFrames, downstream.requested.get()) - downstream.buffer.size();
+            room = room < 0 ? free : Math.min(room, free);
+        }
+        return Math.max(room, 0);
+    }
+
+    private void renderBatch(int count) {
+        long[] numbers = new long[count];
+        int valid = 0;
+        while (valid < count) {
+            long number = pending.poll();
+            pendingCount.decrementAndGet();
+            if (number < 0) {
+                break;
+            }
+            numbers[valid++] = number;
+        }
+
+        String[] frames = renderer.renderAll(valid == count ? numbers : Arrays.copyOf(numbers, valid));
+        for (Downstream downstream : subscribers) {
+            downstream.buffer.addAll(Arrays.asList(frames));
+            downstream.deliver();
+        }
+
+        if (valid < count) {
+            upstream.cancel();
+            failure = new IllegalArgumentException("Input number cannot be negative!");
+        }
+    }
+
+    private void requestUpstream() {
+        Flow.Subscription subscription = upstream;
+        if (subscription == null || isClosed()) {
+            return;
+        }
+
+        long inFlight = outstanding.get();
+        long wanted = room() - pendingCount.get() - inFlight;
+        if (wanted >= batchSize || (wanted > 0 && inFlight == 0)) {
+            outstanding.addAndGet(wanted);
+            subscription.request(wanted);
+        }
+    }
+
+    private static long addCapped(long current, long added) {
+        long sum = current + added;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    /**
+     * The subscription of one subscriber. Its buffer is only touched by the drain task.
+     */
+    private final class Downstream implements Flow.Subscription {
+        private final Flow.Subscriber<? super String> subscriber;
+        private final ArrayDeque<String> buffer = new ArrayDeque<>();
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidRequest;
+
+        private Downstream(Flow.Subscriber<? super String> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested count has to be positive, found " + n);
+            } else {
+                requested.accumulateAndGet(n, LcdProcessor::addCapped);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        /**
+         * @return true if any frame was delivered
+         */
+        private boolean deliver() {
+            boolean delivered = false;
+            while (!cancelled && !buffer.isEmpty() && requested.get() > 0) {
+                if (requested.get() != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                delivered = true;
+                try {
+                    subscriber.onNext(buffer.poll());
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    buffer.clear();
+                    subscriber.onError(e);
+                }
+            }
+            return delivered;
+        }
+    }
+}
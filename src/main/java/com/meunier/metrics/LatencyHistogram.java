@@ -0,0 +1,78 @@
+package com.meunier.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two buckets.
+ * <p>
+ * Bucket {@code i} counts durations from {@code 2^(i-1)} up to {@code 2^i - 1} nanoseconds, so recording
+ * is a leading-zero count and one striped increment, with no allocation. Percentiles are reported as
+ * the upper bound of the bucket they fall in, which is at most twice the exact value.
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos the duration to record, negative durations are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        buckets[Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(value))].increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Copies the current state. Concurrent records may be partially included.
+     * The count is the sum of the buckets, so it always matches the percentiles.
+     *
+     * @return an immutable view of the recorded durations
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+
+        return new HistogramSnapshot(total, totalNanos.sum(), maxNanos.get(),
+                percentile(counts, total, 0.50), percentile(counts, total, 0.90), percentile(counts, total, 0.99));
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    private static long percentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
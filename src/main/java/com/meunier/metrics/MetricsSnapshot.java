@@ -0,0 +1,71 @@
+package com.meunier.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable copy of the {@link RenderMetrics} at one point in time, for pull-style monitoring.
+ */
+public final class MetricsSnapshot {
+
+    private final boolean enabled;
+    private final long renderCount;
+    private final long digitCount;
+    private final long charCount;
+    private final long glyphTableBuildCount;
+    private final Map<String, HistogramSnapshot> stages;
+
+    MetricsSnapshot(boolean enabled, long renderCount, long digitCount, long charCount, long glyphTableBuildCount,
+                    Map<String, HistogramSnapshot> stages) {
+        this.enabled = enabled;
+        this.renderCount = renderCount;
+        this.digitCount = digitCount;
+        this.charCount = charCount;
+        this.glyphTableBuildCount = glyphTableBuildCount;
+        this.stages = Collections.unmodifiableMap(stages);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the number of numbers and digit sequences rendered
+     */
+    public long getRenderCount() {
+        return renderCount;
+    }
+
+    /**
+     * @return the number of digits rendered over all renders
+     */
+    public long getDigitCount() {
+        return digitCount;
+    }
+
+    /**
+     * @return the number of chars produced over all renders, equal to bytes since the output is ASCII
+     */
+    public long getCharCount() {
+        return charCount;
+    }
+
+    public long getGlyphTableBuildCount() {
+        return glyphTableBuildCount;
+    }
+
+    /**
+     * @return the latency histograms keyed by {@link RenderMetrics.Stage} name
+     */
+    public Map<String, HistogramSnapshot> getStages() {
+        return stages;
+    }
+
+    /**
+     * @param stage the stage to look up
+     * @return the latency histogram of the stage
+     */
+    public HistogramSnapshot getStage(RenderMetrics.Stage stage) {
+        return stages.get(stage.name());
+    }
+}
@@ -0,0 +1,186 @@
+package com.meunier.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and per-stage latency histograms of the render pipeline.
+ * <p>
+ * Instrumentation is disabled by default. Every recording site first checks {@link #isEnabled()},
+ * a single volatile read, and skips the clock reads and counters entirely when it is off.
+ * It can be switched on with the {@code lcd.metrics.enabled} system property, {@link #setEnabled(boolean)}
+ * or through JMX once {@link #registerMBean()} was called.
+ * <p>
+ * All recording is lock-free and allocation-free, so it is safe on the hot path of many threads.
+ */
+public final class RenderMetrics {
+
+    /**
+     * The timed stages of the pipeline.
+     */
+    public enum Stage {
+        /** Generating a glyph table for a digit size that was not cached yet. */
+        GLYPH_TABLE_BUILD,
+        /** Extracting the digits and copying their glyph lines into the destination. */
+        LAYOUT,
+        /** Turning the composed characters into the result String. */
+        RESULT
+    }
+
+    /** The name the MXBean is registered under. */
+    public static final String OBJECT_NAME = "com.meunier:type=RenderMetrics";
+
+    private static volatile boolean enabled = Boolean.getBoolean("lcd.metrics.enabled");
+
+    private static final LongAdder renders = new LongAdder();
+    private static final LongAdder digits = new LongAdder();
+    private static final LongAdder chars = new LongAdder();
+    private static final LongAdder glyphTableBuilds = new LongAdder();
+    private static final Map<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+
+    static {
+        for (Stage stage : Stage.values()) {
+            histograms.put(stage, new LatencyHistogram());
+        }
+    }
+
+    private RenderMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches recording on or off. Values recorded so far are kept.
+     *
+     * @param enabled whether to record from now on
+     */
+    public static void setEnabled(boolean enabled) {
+        RenderMetrics.enabled = enabled;
+    }
+
+    /**
+     * Records a finished render. Callers check {@link #isEnabled()} before taking the start time.
+     *
+     * @param digitCount the number of digits rendered
+     * @param charCount  the number of chars produced
+     * @param nanos      the duration of the layout stage
+     */
+    public static void recordRender(long digitCount, long charCount, long nanos) {
+        renders.increment();
+        digits.add(digitCount);
+        chars.add(charCount);
+        histograms.get(Stage.LAYOUT).record(nanos);
+    }
+
+    /**
+     * Records a newly generated glyph table.
+     *
+     * @param nanos the time it took to generate
+     */
+    public static void recordGlyphTableBuild(long nanos) {
+        glyphTableBuilds.increment();
+        histograms.get(Stage.GLYPH_TABLE_BUILD).record(nanos);
+    }
+
+    /**
+     * Records the duration of a stage that has no counters of its own.
+     *
+     * @param stage the stage that finished
+     * @param nanos its duration
+     */
+    public static void recordStage(Stage stage, long nanos) {
+        histograms.get(stage).record(nanos);
+    }
+
+    /**
+     * @return an immutable copy of all counters and histograms
+     */
+    public static MetricsSnapshot snapshot() {
+        Map<String, HistogramSnapshot> stages = new LinkedHashMap<>();
+        for (Map.Entry<Stage, LatencyHistogram> entry : histograms.entrySet()) {
+            stages.put(entry.getKey().name(), entry.getValue().snapshot());
+        }
+
+        return new MetricsSnapshot(enabled, renders.sum(), digits.sum(), chars.sum(), glyphTableBuilds.sum(), stages);
+    }
+
+    /**
+     * Resets all counters and histograms to 0. The enabled flag is kept.
+     */
+    public static void reset() {
+        renders.reset();
+        digits.reset();
+        chars.reset();
+        glyphTableBuilds.reset();
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server under {@link #OBJECT_NAME}.
+     * Calling it again has no effect.
+     */
+    public static void registerMBean() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(new Bean(), new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // already registered
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    private static final class Bean implements RenderMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return RenderMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            RenderMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public long getRenderCount() {
+            return renders.sum();
+        }
+
+        @Override
+        public long getDigitCount() {
+            return digits.sum();
+        }
+
+        @Override
+        public long getCharCount() {
+            return chars.sum();
+        }
+
+        @Override
+        public long getGlyphTableBuildCount() {
+            return glyphTableBuilds.sum();
+        }
+
+        @Override
+        public Map<String, HistogramSnapshot> getStages() {
+            return RenderMetrics.snapshot().getStages();
+        }
+
+        @Override
+        public void reset() {
+            RenderMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.meunier.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link RenderMetrics}. Stage latencies are exposed as a table keyed by stage name.
+ */
+public interface RenderMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getRenderCount();
+
+    long getDigitCount();
+
+    long getCharCount();
+
+    long getGlyphTableBuildCount();
+
+    Map<String, HistogramSnapshot> getStages();
+
+    void reset();
+}
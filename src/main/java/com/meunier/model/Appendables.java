@@ -0,0 +1,39 @@
+package com.meunier.model;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * Bulk appending of char array ranges to any {@link Appendable}.
+ */
+public final class Appendables {
+
+    private Appendables() {
+    }
+
+    /**
+     * Appends a range of a char array to the destination.
+     * StringBuilders, CharBuffers and Writers get the whole range in one bulk copy,
+     * other destinations get it char by char.
+     *
+     * @param chars  the chars to append from
+     * @param start  the index of the first char to append
+     * @param length the number of chars to append
+     * @param out    the destination to append to
+     * @throws IOException if the destination fails to append
+     */
+    public static void append(char[] chars, int start, int length, Appendable out) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(chars, start, length);
+        } else if (out instanceof CharBuffer) {
+            ((CharBuffer) out).put(chars, start, length);
+        } else if (out instanceof Writer) {
+            ((Writer) out).write(chars, start, length);
+        } else {
+            for (int i = start; i < start + length; i++) {
+                out.append(chars[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.meunier.model;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Immutable segment lines of all glyphs for one digit size.
+ * <p>
+ * The table is generated from the segment masks in {@link Segments}. Most lines of a sized glyph
+ * repeat: every line of a section looks the same. The table therefore stores each distinct row
+ * only once, as a run that covers several lines, so its size does not depend on the digit height.
+ * Each glyph is one row-major char array of its rows in a dense atlas, indexed by glyph index,
+ * and digits are their own index, so looking up a line of a digit is plain array indexing.
+ * <p>
+ * Tables of narrow digits also hold a pair table: the rows of all 100 two-digit combinations,
+ * precomposed side by side, so renderers can copy two digits per bulk copy.
+ * <p>
+ * The arrays are never handed out: lines are only copied into the caller's buffers,
+ * so a table can be cached and shared between any number of renderers and threads.
+ */
+public final class GlyphTable {
+
+    private static final char HORIZONTAL = '_';
+    private static final char VERTICAL = '|';
+    private static final char EMPTY = ' ';
+    private static final char DOT = '.';
+
+    // rows of a sized glyph; the dot rows are the section rows with the colon dot added
+    private static final int TOP_ROW = 0;
+    private static final int UPPER_ROW = 1;
+    private static final int UPPER_DOT_ROW = 2;
+    private static final int MIDDLE_ROW = 3;
+    private static final int LOWER_ROW = 4;
+    private static final int LOWER_DOT_ROW = 5;
+    private static final int BOTTOM_ROW = 6;
+    private static final int SIZED_ROW_COUNT = 7;
+
+    /** The widest digits that get a pair table; wider digits gain little from it and it grows with the width. */
+    private static final int PAIR_TABLE_MAX_WIDTH = 8;
+    private static final int PAIR_COUNT = 100;
+
+    private final int lineCount;
+    private final int glyphWidth;
+    private final int rowCount;
+    private final char[][] atlas;
+    // null for wide digits
+    private final char[][] pairAtlas;
+
+    // section height of sized glyphs, 0 for the basic layout where every line is its own row
+    private final int height;
+    private final int upperDotLine;
+    private final int lowerDotLine;
+
+    /**
+     * Takes over the filled atlas, so it and the pair table are only reachable through final fields.
+     */
+    private GlyphTable(int lineCount, int glyphWidth, int rowCount, int height, char[][] atlas, boolean pairs) {
+        this.lineCount = lineCount;
+        this.glyphWidth = glyphWidth;
+        this.rowCount = rowCount;
+        this.height = height;
+        this.upperDotLine = 1 + (height - 1) / 2;
+        this.lowerDotLine = height + 2 + (height - 1) / 2;
+        this.atlas = atlas;
+        this.pairAtlas = pairs ? buildPairTable(atlas, glyphWidth, rowCount) : null;
+    }
+
+    /**
+     * Creates the table for regular 3-line high LCD digits.
+     * The middle and bottom segments share their line with the columns,
+     * and the dots take the middle of those lines when the segment is not lit.
+     *
+     * @return a new basic glyph table
+     */
+    public static GlyphTable basic() {
+        int glyphWidth = 3;
+        char[][] atlas = new char[Segments.GLYPH_COUNT][3 * glyphWidth];
+
+        for (int index = 0; index < Segments.GLYPH_COUNT; index++) {
+            int mask = Segments.getBasicDigitMask(index);
+            char[] glyph = atlas[index];
+
+            fillRow(glyph, glyphWidth, 0, EMPTY, has(mask, Segments.TOP) ? HORIZONTAL : EMPTY, EMPTY);
+            fillRow(glyph, glyphWidth, 1, has(mask, Segments.UPPER_LEFT) ? VERTICAL : EMPTY,
+                    has(mask, Segments.MIDDLE) ? HORIZONTAL : has(mask, Segments.COLON) ? DOT : EMPTY,
+                    has(mask, Segments.UPPER_RIGHT) ? VERTICAL : EMPTY);
+            fillRow(glyph, glyphWidth, 2, has(mask, Segments.LOWER_LEFT) ? VERTICAL : EMPTY,
+                    has(mask, Segments.BOTTOM) ? HORIZONTAL
+                            : has(mask, Segments.DECIMAL_POINT | Segments.COLON) ? DOT : EMPTY,
+                    has(mask, Segments.LOWER_RIGHT) ? VERTICAL : EMPTY);
+        }
+
+        return new GlyphTable(3, glyphWidth, 3, 0, atlas, true);
+    }
+
+    /**
+     * Creates the table for custom sized digits.
+     * A custom sized digit consists of 5 parts:
+     * top line, top section (height tall), middle line, bottom section (height tall) and bottom line.
+     * Every line is width + 2 characters wide, to leave room for the columns.
+     * The decimal point sits in the middle of the bottom line, the colon dots in the middle of both sections.
+     * <p>
+     * Only the 7 distinct rows of every glyph are stored, so the table takes the same memory at any height.
+     *
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @return a new sized glyph table
+     */
+    public static GlyphTable sized(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Width and height have to be at least 1!");
+        }
+        if (height > (Integer.MAX_VALUE - 3) / 2 || (long) SIZED_ROW_COUNT * (width + 2L) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Width and height are too large!");
+        }
+
+        int glyphWidth = width + 2;
+        char[][] atlas = new char[Segments.GLYPH_COUNT][SIZED_ROW_COUNT * glyphWidth];
+
+        for (int index = 0; index < Segments.GLYPH_COUNT; index++) {
+            int mask = Segments.getDigitMask(index);
+            char[] glyph = atlas[index];
+
+            fillRow(glyph, glyphWidth, TOP_ROW, EMPTY, has(mask, Segments.TOP) ? HORIZONTAL : EMPTY, EMPTY);
+            fillRow(glyph, glyphWidth, UPPER_ROW, has(mask, Segments.UPPER_LEFT) ? VERTICAL : EMPTY, EMPTY,
+                    has(mask, Segments.UPPER_RIGHT) ? VERTICAL : EMPTY);
+            fillRow(glyph, glyphWidth, MIDDLE_ROW, EMPTY, has(mask, Segments.MIDDLE) ? HORIZONTAL : EMPTY, EMPTY);
+            fillRow(glyph, glyphWidth, LOWER_ROW, has(mask, Segments.LOWER_LEFT) ? VERTICAL : EMPTY, EMPTY,
+                    has(mask, Segments.LOWER_RIGHT) ? VERTICAL : EMPTY);
+            fillRow(glyph, glyphWidth, BOTTOM_ROW, EMPTY, has(mask, Segments.BOTTOM) ? HORIZONTAL : EMPTY, EMPTY);
+
+            copyRow(glyph, glyphWidth, UPPER_ROW, UPPER_DOT_ROW);
+            copyRow(glyph, glyphWidth, LOWER_ROW, LOWER_DOT_ROW);
+            if (has(mask, Segments.COLON)) {
+                putCenter(glyph, glyphWidth, UPPER_DOT_ROW, DOT);
+                putCenter(glyph, glyphWidth, LOWER_DOT_ROW, DOT);
+            }
+            if (has(mask, Segments.DECIMAL_POINT)) {
+                putCenter(glyph, glyphWidth, BOTTOM_ROW, DOT);
+            }
+        }
+
+        return new GlyphTable(2 * height + 3, glyphWidth, SIZED_ROW_COUNT, height, atlas,
+                width <= PAIR_TABLE_MAX_WIDTH);
+    }
+
+    /**
+     * Precomposes every row of the 100 two-digit combinations, tens digit first.
+     */
+    private static char[][] buildPairTable(char[][] atlas, int glyphWidth, int rowCount) {
+        int pairWidth = 2 * glyphWidth;
+        char[][] pairAtlas = new char[PAIR_COUNT][rowCount * pairWidth];
+
+        for (int pair = 0; pair < PAIR_COUNT; pair++) {
+            for (int row = 0; row < rowCount; row++) {
+                System.arraycopy(atlas[pair / 10], row * glyphWidth, pairAtlas[pair], row * pairWidth, glyphWidth);
+                System.arraycopy(atlas[pair % 10], row * glyphWidth, pairAtlas[pair], row * pairWidth + glyphWidth,
+                        glyphWidth);
+            }
+        }
+        return pairAtlas;
+    }
+
+    private static boolean has(int mask, int segment) {
+        return (mask & segment) != 0;
+    }
+
+    /**
+     * Fills one row of a glyph: a left character, the inner characters and a right character.
+     */
+    private static void fillRow(char[] glyph, int glyphWidth, int row, char left, char inner, char right) {
+        int start = row * glyphWidth;
+        int end = start + glyphWidth - 1;
+
+        glyph[start] = left;
+        Arrays.fill(glyph, start + 1, end, inner);
+        glyph[end] = right;
+    }
+
+    private static void copyRow(char[] glyph, int glyphWidth, int fromRow, int toRow) {
+        System.arraycopy(glyph, fromRow * glyphWidth, glyph, toRow * glyphWidth, glyphWidth);
+    }
+
+    /**
+     * Puts a character in the middle of the inner characters of one row of a glyph.
+     */
+    private static void putCenter(char[] glyph, int glyphWidth, int row, char c) {
+        glyph[row * glyphWidth + 1 + (glyphWidth - 3) / 2] = c;
+    }
+
+    /**
+     * @return the number of lines of every digit
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return the number of characters in every line of a digit
+     */
+    public int getGlyphWidth() {
+        return glyphWidth;
+    }
+
+    /**
+     * @return the number of distinct rows stored per glyph
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the stored row a line is drawn from. Lines with the same row look the same for every glyph.
+     *
+     * @param line the line index, from 0 to {@link #getLineCount()} - 1
+     * @return the row index, from 0 to {@link #getRowCount()} - 1
+     */
+    public int getRowIndex(int line) {
+        if (height == 0 || line == 0) {
+            return line;
+        }
+        if (line <= height) {
+            return line == upperDotLine ? UPPER_DOT_ROW : UPPER_ROW;
+        }
+        if (line == height + 1) {
+            return MIDDLE_ROW;
+        }
+        if (line <= 2 * height + 1) {
+            return line == lowerDotLine ? LOWER_DOT_ROW : LOWER_ROW;
+        }
+        return BOTTOM_ROW;
+    }
+
+    /**
+     * Returns how many lines, starting at the given one, are drawn from the same row.
+     * Renderers can compose such a line once and write it that many times.
+     *
+     * @param line the line index, from 0 to {@link #getLineCount()} - 1
+     * @return the number of consecutive identical lines, at least 1
+     */
+    public int getRunLength(int line) {
+        // the basic layout has no repeated lines, and its row indices would read as sized rows below
+        if (height == 0) {
+            return 1;
+        }
+        switch (getRowIndex(line)) {
+            case UPPER_ROW:
+                return line < upperDotLine ? upperDotLine - line : height + 1 - line;
+            case LOWER_ROW:
+                return line < lowerDotLine ? lowerDotLine - line : 2 * height + 2 - line;
+            default:
+                return 1;
+        }
+    }
+
+    /**
+     * Returns one segment line of a digit as a new String.
+     * Rendering code should use {@link #appendLine} or {@link #copyLine} instead, which do not allocate.
+     *
+     * @param digit a digit, or a glyph index from {@link Segments#getGlyphIndex(char)}
+     * @param line  the line index, from 0 to {@link #getLineCount()} - 1
+     * @return the segment line
+     */
+    public String getLine(int digit, int line) {
+        return new String(atlas[digit], getRowIndex(line) * glyphWidth, glyphWidth);
+    }
+
+    /**
+     * Checks whether two digits look the same on one line.
+     *
+     * @param digit the first digit or glyph index
+     * @param other the second digit or glyph index
+     * @param line  the line index, from 0 to {@link #getLineCount()} - 1
+     * @return true if the line of both digits has the same characters
+     */
+    public boolean isSameLine(int digit, int other, int line) {
+        int start = getRowIndex(line) * glyphWidth;
+        return Arrays.equals(atlas[digit], start, start + glyphWidth, atlas[other], start, start + glyphWidth);
+    }
+
+    /**
+     * Copies one segment line of a digit into the destination array.
+     *
+     * @param digit  a digit, or a glyph index from {@link Segments#getGlyphIndex(char)}
+     * @param line   the line index, from 0 to {@link #getLineCount()} - 1
+     * @param dest   the destination array
+     * @param offset the position in the destination array to copy to
+     */
+    public void copyLine(int digit, int line, char[] dest, int offset) {
+        System.arraycopy(atlas[digit], getRowIndex(line) * glyphWidth, dest, offset, glyphWidth);
+    }
+
+    /**
+     * Copies part of one segment line of a digit into the destination array, for drawing clipped glyphs.
+     *
+     * @param digit  a digit, or a glyph index from {@link Segments#getGlyphIndex(char)}
+     * @param line   the line index, from 0 to {@link #getLineCount()} - 1
+     * @param from   the first column of the line to copy
+     * @param length the number of columns to copy
+     * @param dest   the destination array
+     * @param offset the position in the destination array to copy to
+     */
+    public void copyLine(int digit, int line, int from, int length, char[] dest, int offset) {
+        System.arraycopy(atlas[digit], getRowIndex(line) * glyphWidth + from, dest, offset, length);
+    }
+
+    /**
+     * @return true if the table holds the precomposed two-digit pairs used by {@link #appendPairLine}
+     */
+    public boolean hasPairTable() {
+        return pairAtlas != null;
+    }
+
+    /**
+     * Appends one segment line of two digits to the destination in a single copy.
+     * Only available if {@link #hasPairTable()} is true.
+     *
+     * @param pair  the two digits as a number from 0 to 99, tens digit drawn first
+     * @param line  the line index, from 0 to {@link #getLineCount()} - 1
+     * @param out   the destination to append to
+     * @throws IOException if the destination fails to append
+     */
+    public void appendPairLine(int pair, int line, Appendable out) throws IOException {
+        Appendables.append(pairAtlas[pair], getRowIndex(line) * 2 * glyphWidth, 2 * glyphWidth, out);
+    }
+
+    /**
+     * Appends one segment line of a digit to the destination.
+     * StringBuilders, CharBuffers and Writers get the whole line in one bulk copy,
+     * other destinations get it char by char.
+     *
+     * @param digit a digit, or a glyph index from {@link Segments#getGlyphIndex(char)}
+     * @param line  the line index, from 0 to {@link #getLineCount()} - 1
+     * @param out   the destination to append to
+     * @throws IOException if the destination fails to append
+     */
+    public void appendLine(int digit, int line, Appendable out) throws IOException {
+        Appendables.append(atlas[digit], getRowIndex(line) * glyphWidth, glyphWidth, out);
+    }
+}
@@ -0,0 +1,212 @@
+package com.meunier.model;
+
+import com.meunier.metrics.RenderMetrics;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of generated glyph tables, keyed by digit width and height.
+ * <p>
+ * Lookups of cached sizes are lock-free, so frequently used sizes never pay the generation
+ * cost after the first call. When the cache grows over its maximum size, entries are evicted
+ * according to the configured {@link EvictionPolicy}.
+ * <p>
+ * Entries are kept in insertion order in a queue, and eviction takes them from its head, so it costs
+ * constant time per removed entry and only runs on misses. Hits write nothing shared, except for the
+ * first hit on an entry since the last eviction pass, so hot sizes do not contend on every render.
+ * <p>
+ * The default cache can be configured with the {@code lcd.glyphCache.maxSize} and
+ * {@code lcd.glyphCache.policy} system properties.
+ */
+public final class GlyphTableCache {
+
+    private static final int DEFAULT_MAX_SIZE = 64;
+    private static final long BASIC_KEY = key(-1, -1);
+
+    private static final GlyphTableCache DEFAULT = new GlyphTableCache(
+            Integer.getInteger("lcd.glyphCache.maxSize", DEFAULT_MAX_SIZE),
+            EvictionPolicy.valueOf(System.getProperty("lcd.glyphCache.policy", EvictionPolicy.LRU.name())));
+
+    /**
+     * Decides which entry is removed when the cache is full.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Approximates least recently used with the clock algorithm: a hit marks the entry as referenced,
+         * and eviction gives referenced entries a second chance instead of removing them.
+         * Sizes used between two evictions are never evicted.
+         */
+        LRU,
+        /**
+         * Evicts the entry that was added first, regardless of how often it is used.
+         * Only suits size sets that churn as a whole: hot sizes are evicted and regenerated on schedule.
+         */
+        FIFO
+    }
+
+    private final int maximumSize;
+    private final EvictionPolicy policy;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    // entries in insertion order; LRU moves referenced entries back to the tail when they come up for eviction
+    private final Queue<Entry> order = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize the maximum number of sizes to keep, has to be at least 1
+     * @param policy      the eviction policy used when the cache is full
+     */
+    public GlyphTableCache(int maximumSize, EvictionPolicy policy) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum cache size has to be at least 1!");
+        }
+
+        this.maximumSize = maximumSize;
+        this.policy = Objects.requireNonNull(policy, "Eviction policy cannot be null!");
+    }
+
+    /**
+     * @return the cache shared by all renderers that are not given a cache explicitly
+     */
+    public static GlyphTableCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the glyph table for regular 3-line high LCD digits.
+     *
+     * @return the cached basic glyph table
+     */
+    public GlyphTable getBasic() {
+        return lookup(BASIC_KEY, -1, -1);
+    }
+
+    /**
+     * Returns the glyph table for custom sized digits, generating it on the first request.
+     *
+     * @param width  the width of the digits, has to be at least 1
+     * @param height the height of the digits, has to be at least 1
+     * @return the cached sized glyph table
+     */
+    public GlyphTable get(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Width and height have to be at least 1!");
+        }
+
+        return lookup(key(width, height), width, height);
+    }
+
+    private GlyphTable lookup(long key, int width, int height) {
+        Entry entry = entries.get(key);
+
+        if (entry != null) {
+            hits.increment();
+            // only written when clear, so hot entries stay read-only between eviction passes
+            if (policy == EvictionPolicy.LRU && !entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.glyphTable;
+        }
+
+        entry = entries.computeIfAbsent(key, k -> {
+            misses.increment();
+            Entry created = new Entry(k, generate(width, height));
+            order.add(created);
+            return created;
+        });
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+
+        return entry.glyphTable;
+    }
+
+    private static GlyphTable generate(int width, int height) {
+        boolean timed = RenderMetrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        GlyphTable glyphTable = width < 0 ? GlyphTable.basic() : GlyphTable.sized(width, height);
+
+        if (timed) {
+            RenderMetrics.recordGlyphTableBuild(System.nanoTime() - start);
+        }
+        return glyphTable;
+    }
+
+    /**
+     * Removes entries from the head of the insertion order until the cache fits its maximum size.
+     * With LRU, a referenced entry loses its mark and goes back to the tail instead.
+     */
+    private synchronized void evict() {
+        Entry candidate;
+        while (entries.size() > maximumSize && (candidate = order.poll()) != null) {
+            if (policy == EvictionPolicy.LRU && candidate.referenced) {
+                candidate.referenced = false;
+                order.add(candidate);
+            } else if (entries.remove(candidate.key, candidate)) {
+                evictions.increment();
+            }
+        }
+        if (entries.size() > maximumSize && order.isEmpty()) {
+            // an entry inserted while clear() ran is missing from the order; requeue everything
+            order.addAll(entries.values());
+            evict();
+        }
+    }
+
+    /**
+     * Removes all entries. Counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        order.clear();
+    }
+
+    /**
+     * @return the number of sizes currently cached
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    private static long key(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry {
+        private final long key;
+        private final GlyphTable glyphTable;
+        // a lost update only costs an entry its second chance, so no atomics are needed
+        private volatile boolean referenced;
+
+        private Entry(long key, GlyphTable glyphTable) {
+            this.key = key;
+            this.glyphTable = glyphTable;
+        }
+    }
+}
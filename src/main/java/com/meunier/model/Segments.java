@@ -2,252 +2,199 @@ package com.meunier.model;
 
 import java.util.*;
 
+/**
+ * Segment definitions of the LCD digits.
+ * <p>
+ * Every glyph is described by a mask of the segments that are lit: the seven bars of a digit,
+ * plus the decimal point and colon dots. The actual lines of a glyph at any size are generated from
+ * these masks by {@link GlyphTable}, so adding a glyph only takes a new mask entry.
+ * <p>
+ * Glyphs are indexed by an alphabet of the digits 0-9, the hex digits A-F, '-', '.', ':' and space.
+ * Digits are their own index, so digit-only rendering needs no lookup at all; other characters
+ * are mapped to their index through a precomputed table, see {@link #getGlyphIndex(char)}.
+ * <pre>
+ *  _        TOP
+ * |_|       UPPER_LEFT, MIDDLE, UPPER_RIGHT
+ * |_|       LOWER_LEFT, BOTTOM, LOWER_RIGHT
+ * </pre>
+ */
 public class Segments {
 
-    private static final String EMPTY = "   ";
-    private static final String BOTH = "| |";
-    private static final String BOTTOM = "|_|";
-    private static final String RIGHT = "  |";
-    private static final String MIDRIGHT = " _|";
-    private static final String MIDLEFT = "|_ ";
-    private static final String MID = " _ ";
+    public static final int TOP = 1;
+    public static final int UPPER_RIGHT = 1 << 1;
+    public static final int LOWER_RIGHT = 1 << 2;
+    public static final int BOTTOM = 1 << 3;
+    public static final int LOWER_LEFT = 1 << 4;
+    public static final int UPPER_LEFT = 1 << 5;
+    public static final int MIDDLE = 1 << 6;
+    public static final int DECIMAL_POINT = 1 << 7;
+    public static final int COLON = 1 << 8;
+
+    static final int DIGIT_COUNT = 10;
+
+    /** The characters of all glyphs, in index order. */
+    private static final String ALPHABET = "0123456789ABCDEF-.: ";
+
+    static final int GLYPH_COUNT = ALPHABET.length();
+
+    private static final int[] GLYPH_MASKS = {
+            TOP | UPPER_RIGHT | LOWER_RIGHT | BOTTOM | LOWER_LEFT | UPPER_LEFT,          // 0
+            UPPER_RIGHT | LOWER_RIGHT,                                                   // 1
+            TOP | UPPER_RIGHT | MIDDLE | LOWER_LEFT | BOTTOM,                            // 2
+            TOP | UPPER_RIGHT | MIDDLE | LOWER_RIGHT | BOTTOM,                           // 3
+            UPPER_LEFT | UPPER_RIGHT | MIDDLE | LOWER_RIGHT,                             // 4
+            TOP | UPPER_LEFT | MIDDLE | LOWER_RIGHT | BOTTOM,                            // 5
+            TOP | UPPER_LEFT | MIDDLE | LOWER_LEFT | LOWER_RIGHT | BOTTOM,               // 6
+            TOP | UPPER_RIGHT | LOWER_RIGHT,                                             // 7
+            TOP | UPPER_RIGHT | LOWER_RIGHT | BOTTOM | LOWER_LEFT | UPPER_LEFT | MIDDLE, // 8
+            TOP | UPPER_LEFT | UPPER_RIGHT | MIDDLE | LOWER_RIGHT | BOTTOM,              // 9
+            TOP | UPPER_LEFT | UPPER_RIGHT | MIDDLE | LOWER_LEFT | LOWER_RIGHT,          // A
+            UPPER_LEFT | MIDDLE | LOWER_LEFT | LOWER_RIGHT | BOTTOM,                     // b
+            TOP | UPPER_LEFT | LOWER_LEFT | BOTTOM,                                      // C
+            UPPER_RIGHT | MIDDLE | LOWER_LEFT | LOWER_RIGHT | BOTTOM,                    // d
+            TOP | UPPER_LEFT | MIDDLE | LOWER_LEFT | BOTTOM,                             // E
+            TOP | UPPER_LEFT | MIDDLE | LOWER_LEFT,                                      // F
+            MIDDLE,                                                                      // -
+            DECIMAL_POINT,                                                               // .
+            COLON,                                                                       // :
+            0                                                                            // space
+    };
+
+    /** Glyph index of every ASCII character, or -1 if it has no glyph. */
+    private static final byte[] GLYPH_INDEX = new byte[128];
 
-    private static final String SINGLE_HORIZONTAL = "_";
-    private static final String SINGLE_VERTICAL = "|";
-    private static final String SINGLE_EMPTY = " ";
+    /**
+     * The regular 3-line layout has always drawn 3 and 4 without their middle segment.
+     * These masks keep that output unchanged; custom sized digits use {@link #GLYPH_MASKS}.
+     */
+    private static final int[] BASIC_GLYPH_MASKS = GLYPH_MASKS.clone();
 
     private static Map<Integer, String[]> NUM_SEGMENTS;
 
     static {
+        BASIC_GLYPH_MASKS[3] &= ~MIDDLE;
+        BASIC_GLYPH_MASKS[4] &= ~MIDDLE;
+
+        Arrays.fill(GLYPH_INDEX, (byte) -1);
+        for (int glyph = 0; glyph < GLYPH_COUNT; glyph++) {
+            char c = ALPHABET.charAt(glyph);
+            GLYPH_INDEX[c] = (byte) glyph;
+            GLYPH_INDEX[Character.toLowerCase(c)] = (byte) glyph;
+        }
         setBasicMap();
     }
 
-    public static Map<Integer, String[]> getNumSegments() {
-        return NUM_SEGMENTS;
-    }
-
-    /**
-     * Sets basic segments map values for regular 3-line high LED numbers.
-     */
-    public static void setBasicMap() {
-        NUM_SEGMENTS = new HashMap<>();
-
-        NUM_SEGMENTS.put(1, new String[]{EMPTY, RIGHT, RIGHT});
-        NUM_SEGMENTS.put(2, new String[]{MID, MIDRIGHT, MIDLEFT});
-        NUM_SEGMENTS.put(3, new String[]{MID, RIGHT, MIDRIGHT});
-        NUM_SEGMENTS.put(4, new String[]{EMPTY, BOTH, RIGHT});
-        NUM_SEGMENTS.put(5, new String[]{MID, MIDLEFT, MIDRIGHT});
-        NUM_SEGMENTS.put(6, new String[]{MID, MIDLEFT, BOTTOM});
-        NUM_SEGMENTS.put(7, new String[]{MID, RIGHT, RIGHT});
-        NUM_SEGMENTS.put(8, new String[]{MID, BOTTOM, BOTTOM});
-        NUM_SEGMENTS.put(9, new String[]{MID, BOTTOM, MIDRIGHT});
-        NUM_SEGMENTS.put(0, new String[]{MID, BOTH, BOTTOM});
-    }
-
     /**
-     * Change size of segments according to set height or width.
-     * Generates the segments map for each number.
-     * Each underline character is the equivalent of width=1,
-     * and each vertical bar character per section is the equivalent of height=1;
-     * <p>
-     * A section is one vertical bar on regular LCD numbers.
-     * A custom sized LCD-style number consists of 5 parts:
-     * top line, top section, middle line, bottom section and bottom line.
+     * Returns the segment mask of a digit.
      *
-     * @param width  the width of the digit, marking a single underscore character
-     * @param height the height of the digit, marking a single vertical bar character
+     * @param digit a digit, or a glyph index from {@link #getGlyphIndex(char)}
+     * @return the mask of lit segments
      */
-    public static void setSizedSegments(int width, int height) {
-        String singleLine = generateLine(width);
-        String emptyLine = generateEmptyLine(width);
-
-        // singleLine.length() is required for width as a line contains 2 extra spaces for cols!
-        List<String> rightCols = generateColumns(height, singleLine.length(), true);
-        List<String> leftCols = generateColumns(height, singleLine.length(), false);
-        List<String> doubleCols = generateDoubleColumns(height, width);
-
-        int number = 0;
-        while (number < 10) {
-            generateSegmentsForNumber(number, singleLine, emptyLine, rightCols, leftCols, doubleCols);
-            number++;
-        }
+    public static int getDigitMask(int digit) {
+        return GLYPH_MASKS[digit];
     }
 
     /**
-     * Fill segments map with proper segments for each number.
+     * Returns the segment mask of a digit in the regular 3-line layout.
      *
-     * @param singleLine a single line of underline characters, width wide
-     * @param emptyLine  a single empty line with space characters, width wide
-     * @param rightCols  list of right columns, height high, width spaces before
-     * @param leftCols   list of left columns, height high, width spaces after
-     * @param doubleCols list of double columns, width spaces between
-     * @param number     one digit input number
+     * @param digit a digit, or a glyph index from {@link #getGlyphIndex(char)}
+     * @return the mask of lit segments
      */
-    private static void generateSegmentsForNumber(int number, String singleLine, String emptyLine,
-                                                  List<String> rightCols, List<String> leftCols,
-                                                  List<String> doubleCols) {
-        switch (number) {
-            case 1:
-                NUM_SEGMENTS.put(1, getSegments(emptyLine, rightCols, emptyLine, rightCols, emptyLine));
-                break;
-            case 2:
-                NUM_SEGMENTS.put(2, getSegments(singleLine, rightCols, singleLine, leftCols, singleLine));
-                break;
-            case 3:
-                NUM_SEGMENTS.put(3, getSegments(singleLine, rightCols, singleLine, rightCols, singleLine));
-                break;
-            case 4:
-                NUM_SEGMENTS.put(4, getSegments(emptyLine, doubleCols, singleLine, rightCols, emptyLine));
-                break;
-            case 5:
-                NUM_SEGMENTS.put(5, getSegments(singleLine, leftCols, singleLine, rightCols, singleLine));
-                break;
-            case 6:
-                NUM_SEGMENTS.put(6, getSegments(singleLine, leftCols, singleLine, doubleCols, singleLine));
-                break;
-            case 7:
-                NUM_SEGMENTS.put(7, getSegments(singleLine, rightCols, emptyLine, rightCols, emptyLine));
-                break;
-            case 8:
-                NUM_SEGMENTS.put(8, getSegments(singleLine, doubleCols, singleLine, doubleCols, singleLine));
-                break;
-            case 9:
-                NUM_SEGMENTS.put(9, getSegments(singleLine, doubleCols, singleLine, rightCols, singleLine));
-                break;
-            case 0:
-                NUM_SEGMENTS.put(0, getSegments(singleLine, doubleCols, emptyLine, doubleCols, singleLine));
-                break;
-        }
+    public static int getBasicDigitMask(int digit) {
+        return BASIC_GLYPH_MASKS[digit];
     }
 
     /**
-     * Generates segments for a single-digit number.
+     * Returns the glyph index of a character. Hex digits are accepted in both cases.
      *
-     * @param firstLine  the first line of a number (underlines or empty line)
-     * @param upperCols  the top section of columns (height tall) of  a number
-     * @param midLine    the middle line of a number (underlines, or empty line)
-     * @param lowerCols  the bottom section of columns (height tall) of a number
-     * @param bottomLine the bottom line of a number (underlines or empty line)
-     * @return the String[] array of segments for a digit.
+     * @param c the character to look up
+     * @return the glyph index, or -1 if the character has no glyph
      */
-    private static String[] getSegments(String firstLine, List<String> upperCols,
-                                        String midLine, List<String> lowerCols, String bottomLine) {
-        List<String> arrayList;
-
-        arrayList = new ArrayList<>();
-        arrayList.add(firstLine);
-        arrayList.addAll(upperCols);
-        arrayList.add(midLine);
-        arrayList.addAll(lowerCols);
-        arrayList.add(bottomLine);
-
-        return convertListToArray(arrayList);
+    public static int getGlyphIndex(char c) {
+        return c < GLYPH_INDEX.length ? GLYPH_INDEX[c] : -1;
     }
 
     /**
-     * Converts ArrayList<String> to String[] array.
-     *
-     * @param arrayList the List<String> array list
-     * @return the String[] array
+     * @return the number of glyphs in the alphabet, digits first
      */
-    private static String[] convertListToArray(List<String> arrayList) {
-        String[] array = new String[arrayList.size()];
-        array = arrayList.toArray(array);
-        return array;
+    public static int getGlyphCount() {
+        return GLYPH_COUNT;
     }
 
     /**
-     * Generates an empty line filled with width wide spaces.
-     * Empty lines are required for sizing digits correctly.
+     * Returns the segments map set by the last call of {@link #setBasicMap()} or {@link #setSizedSegments(int, int)}.
+     * The map cannot be modified; renderers use their own {@link GlyphTable} and never read this map.
      *
-     * @param width the width of the digit
-     * @return a single empty line with spaces
+     * @return the unmodifiable segments map
      */
-    private static String generateEmptyLine(int width) {
-        return SINGLE_EMPTY +
-                SINGLE_EMPTY.repeat(Math.max(0, width)) +
-                SINGLE_EMPTY;
+    public static Map<Integer, String[]> getNumSegments() {
+        return NUM_SEGMENTS;
     }
 
     /**
-     * Generates a single line that is width wide.
-     *
-     * @param width the width of the digit (current line)
-     * @return the single width wide line
+     * Sets basic segments map values for regular 3-line high LED numbers.
      */
-    private static String generateLine(int width) {
-        return SINGLE_EMPTY +
-                SINGLE_HORIZONTAL.repeat(Math.max(0, width)) +
-                SINGLE_EMPTY;
+    public static void setBasicMap() {
+        NUM_SEGMENTS = Collections.unmodifiableMap(createBasicMap());
     }
 
     /**
-     * Generate a list of double column lines according to the required height.
+     * Creates a new basic segments map for regular 3-line high LED numbers.
+     * The returned map is not shared with any other caller.
      *
-     * @param height the height of the digit
-     * @param width  the width of the digit
-     * @return the List<String> of double column lines
+     * @return a new map containing the basic segments for each digit
      */
-    private static List<String> generateDoubleColumns(int height, int width) {
-        List<String> segsList = new ArrayList<>();
-
-        for (int i = 0; i < height; i++) {
-            String colLine = generateDoubleColumnLine(width);
-            segsList.add(colLine);
-        }
-
-        return segsList;
+    public static Map<Integer, String[]> createBasicMap() {
+        return toMap(GlyphTable.basic());
     }
 
     /**
-     * Generates a single line with columns on both side, and width spaces in between.
+     * Change size of segments according to set height or width.
+     * Generates the segments map for each number.
+     * Each underline character is the equivalent of width=1,
+     * and each vertical bar character per section is the equivalent of height=1;
+     * <p>
+     * A section is one vertical bar on regular LCD numbers.
+     * A custom sized LCD-style number consists of 5 parts:
+     * top line, top section, middle line, bottom section and bottom line.
      *
-     * @param width the width required for the spaces in between columns
-     * @return the single line of double columns.
+     * @param width  the width of the digit, marking a single underscore character
+     * @param height the height of the digit, marking a single vertical bar character
      */
-    private static String generateDoubleColumnLine(int width) {
-        return SINGLE_VERTICAL +
-                SINGLE_EMPTY.repeat(Math.max(0, width)) +
-                SINGLE_VERTICAL;
+    public static void setSizedSegments(int width, int height) {
+        NUM_SEGMENTS = Collections.unmodifiableMap(createSizedMap(width, height));
     }
 
     /**
-     * Generate a list of column lines according to the required height.
+     * Creates a new segments map for custom sized digits.
+     * The returned map is not shared with any other caller.
      *
-     * @param height  the height of the digit
-     * @param width   the width of the digit
-     * @param isRight right or left sided column, rest are filled with empty spaces
-     * @return the List<String> of single column lines
+     * @param width  the width of the digit, marking a single underscore character
+     * @param height the height of the digit, marking a single vertical bar character
+     * @return a new map containing the sized segments for each digit
+     * @see #setSizedSegments(int, int)
      */
-    private static List<String> generateColumns(int height, int width, boolean isRight) {
-        List<String> segsList = new ArrayList<>();
-
-        for (int i = 0; i < height; i++) {
-            String colLine = generateColumnLine(width, isRight);
-            segsList.add(colLine);
-        }
-
-        return segsList;
+    public static Map<Integer, String[]> createSizedMap(int width, int height) {
+        return toMap(GlyphTable.sized(width, height));
     }
 
     /**
-     * Generates a right or left column line that is width wide
+     * Converts a glyph table into a segments map with one String[] array of lines per digit.
      *
-     * @param width   how wide the column should be
-     * @param isRight right or left sided column, rest are filled with empty spaces
-     * @return the String containing a single column line
+     * @param table the glyph table to convert
+     * @return a new segments map
      */
-    private static String generateColumnLine(int width, boolean isRight) {
-        StringBuilder sb = new StringBuilder();
-
-        if (isRight) {
-            sb.append(SINGLE_EMPTY.repeat(Math.max(0, width - 1)));
-            sb.append(SINGLE_VERTICAL);
-        } else {
-            sb.append(SINGLE_VERTICAL);
-            sb.append(SINGLE_EMPTY.repeat(Math.max(0, width - 1)));
+    private static Map<Integer, String[]> toMap(GlyphTable table) {
+        Map<Integer, String[]> numSegments = new HashMap<>();
+
+        for (int digit = 0; digit < DIGIT_COUNT; digit++) {
+            String[] lines = new String[table.getLineCount()];
+            for (int line = 0; line < lines.length; line++) {
+                lines[line] = table.getLine(digit, line);
+            }
+            numSegments.put(digit, lines);
         }
 
-        return sb.toString();
+        return numSegments;
     }
 }
@@ -0,0 +1,157 @@
+package com.meunier.output;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Hands results to a background thread, which writes them to another sink.
+ * <p>
+ * Rendering threads only pay for putting the result on a bounded queue, instead of
+ * waiting on the lock of the underlying stream. When the queue is full, writers block
+ * until the background thread catches up, so memory use stays bounded.
+ * The first error of the underlying sink is thrown from the next call of this sink;
+ * runtime exceptions are reported wrapped in an {@link IOException}.
+ * Closing always stops the background thread and closes the underlying sink, even after an error.
+ */
+public final class AsyncSink implements LcdSink {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final LcdSink delegate;
+    private final BlockingQueue<Object> queue;
+    private final Thread worker;
+
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate the sink that writes the results
+     */
+    public AsyncSink(LcdSink delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param delegate the sink that writes the results
+     * @param capacity the maximum number of results waiting to be written
+     */
+    public AsyncSink(LcdSink delegate, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity has to be at least 1!");
+        }
+
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drain, "lcd-async-sink");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void write(String rendered) throws IOException {
+        checkState();
+        enqueue(rendered);
+    }
+
+    /**
+     * Waits until every result written so far has been passed to the underlying sink, then flushes it.
+     *
+     * @throws IOException if the underlying sink failed
+     */
+    @Override
+    public void flush() throws IOException {
+        checkState();
+        CountDownLatch flushed = new CountDownLatch(1);
+        enqueue(flushed);
+        await(flushed);
+        checkFailure();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            closed = true;
+            worker.interrupt();
+            delegate.close();
+        }
+    }
+
+    private void enqueue(Object item) throws IOException {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the output queue");
+        }
+    }
+
+    private static void await(CountDownLatch latch) throws IOException {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while flushing the output queue");
+        }
+    }
+
+    private void drain() {
+        try {
+            while (!closed) {
+                Object item = queue.take();
+                if (item instanceof CountDownLatch) {
+                    flushDelegate();
+                    ((CountDownLatch) item).countDown();
+                } else if (failure == null) {
+                    writeDelegate((String) item);
+                }
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    private void writeDelegate(String rendered) {
+        try {
+            delegate.write(rendered);
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = new IOException("Underlying sink failed", e);
+        }
+    }
+
+    private void flushDelegate() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            delegate.flush();
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = new IOException("Underlying sink failed", e);
+        }
+    }
+
+    private void checkState() throws IOException {
+        if (closed) {
+            throw new IOException("Sink is closed");
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
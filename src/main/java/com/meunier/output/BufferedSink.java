@@ -0,0 +1,67 @@
+package com.meunier.output;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes results through a buffer, separated by line separators.
+ * Results only reach the underlying stream when the buffer is full, or on {@link #flush()} and {@link #close()}.
+ * <p>
+ * Not thread-safe; use one sink per thread, or wrap it in an {@link AsyncSink}.
+ */
+public final class BufferedSink implements LcdSink {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+
+    /**
+     * Creates a buffered sink writing to {@link System#out}. Closing it does not close {@code System.out}.
+     *
+     * @return the buffered console sink
+     */
+    public static BufferedSink console() {
+        return new BufferedSink(new OutputStreamWriter(new FilterOutputStream(System.out) {
+            @Override
+            public void write(byte[] b, int off, int len) {
+                System.out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param writer the writer to write the results to
+     */
+    public BufferedSink(Writer writer) {
+        this(writer, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param writer     the writer to write the results to
+     * @param bufferSize the size of the buffer in chars
+     */
+    public BufferedSink(Writer writer, int bufferSize) {
+        this.writer = new BufferedWriter(writer, bufferSize);
+    }
+
+    @Override
+    public void write(String rendered) throws IOException {
+        writer.write(rendered);
+        writer.write(System.lineSeparator());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,36 @@
+package com.meunier.output;
+
+import java.io.PrintStream;
+
+/**
+ * Prints every result on its own line, straight to a print stream.
+ * This is what {@code NumberToLCD} used to do on every call.
+ */
+public final class ConsoleSink implements LcdSink {
+
+    private final PrintStream out;
+
+    /**
+     * Creates a sink printing to {@link System#out}.
+     */
+    public ConsoleSink() {
+        this(System.out);
+    }
+
+    /**
+     * @param out the stream to print the results to
+     */
+    public ConsoleSink(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(String rendered) {
+        out.println(rendered);
+    }
+
+    @Override
+    public void flush() {
+        out.flush();
+    }
+}
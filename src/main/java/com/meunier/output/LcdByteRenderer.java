@@ -0,0 +1,237 @@
+package com.meunier.output;
+
+import com.meunier.LcdRenderer;
+import com.meunier.model.GlyphTable;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Renders numbers in LCD format straight into bytes, for channels, direct buffers and memory-mapped files.
+ * <p>
+ * LCD output only contains ASCII characters, so every glyph line is encoded to bytes once when the
+ * renderer is created. Rendering then copies those bytes into the destination, with no String
+ * result and no charset encoding in between. Like the glyph table, only the distinct rows of every glyph
+ * are encoded, so very tall digits take no more memory than small ones.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class LcdByteRenderer {
+
+    private static final byte NEW_LINE = '\n';
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final long DEFAULT_MAPPING_SIZE = 256L * 1024 * 1024;
+
+    private final LcdRenderer renderer;
+    private final GlyphTable table;
+    private final int lineCount;
+    private final int glyphWidth;
+    private final byte[][] glyphBytes;
+
+    /**
+     * @param renderer the renderer defining the digit size
+     */
+    public LcdByteRenderer(LcdRenderer renderer) {
+        GlyphTable table = renderer.getGlyphTable();
+
+        this.renderer = renderer;
+        this.table = table;
+        this.lineCount = table.getLineCount();
+        this.glyphWidth = table.getGlyphWidth();
+        this.glyphBytes = new byte[10][table.getRowCount() * glyphWidth];
+
+        for (int digit = 0; digit < glyphBytes.length; digit++) {
+            for (int line = 0; line < lineCount; line += table.getRunLength(line)) {
+                String segment = table.getLine(digit, line);
+                int start = table.getRowIndex(line) * glyphWidth;
+                for (int c = 0; c < glyphWidth; c++) {
+                    glyphBytes[digit][start + c] = (byte) segment.charAt(c);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes how many bytes the LCD format of a sequence of digits takes, including line separators.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @return the length of the rendered result in bytes
+     */
+    public long renderedLength(CharSequence digits) {
+        return renderer.renderedLength(digits);
+    }
+
+    /**
+     * Writes the input number in LCD format into the buffer.
+     * Nothing is written if the buffer does not have enough remaining space.
+     *
+     * @param number a positive Long input number
+     * @param out    the buffer to put the LCD lines to, separated by new line characters
+     * @throws BufferOverflowException if the buffer has less than the rendered length remaining
+     */
+    public void render(long number, ByteBuffer out) {
+        if (out.remaining() < renderer.renderedLength(number)) {
+            throw new BufferOverflowException();
+        }
+
+        long highestDivisor = 1;
+        while (number / highestDivisor >= 10) {
+            highestDivisor *= 10;
+        }
+
+        for (int line = 0; line < lineCount; line++) {
+            if (line > 0) {
+                out.put(NEW_LINE);
+            }
+            for (long divisor = highestDivisor; divisor > 0; divisor /= 10) {
+                out.put(glyphBytes[(int) (number / divisor % 10)], rowStart(line), glyphWidth);
+            }
+        }
+    }
+
+    /**
+     * Writes a sequence of decimal digits in LCD format into the buffer.
+     * Nothing is written if the buffer does not have enough remaining space.
+     *
+     * @param digits the digits to render, has to contain at least one digit and nothing else
+     * @param out    the buffer to put the LCD lines to, separated by new line characters
+     * @throws BufferOverflowException if the buffer has less than the rendered length remaining
+     */
+    public void render(CharSequence digits, ByteBuffer out) {
+        if (out.remaining() < renderedLength(digits)) {
+            throw new BufferOverflowException();
+        }
+
+        for (int line = 0; line < lineCount; line++) {
+            if (line > 0) {
+                out.put(NEW_LINE);
+            }
+            for (int i = 0; i < digits.length(); i++) {
+                out.put(glyphBytes[digits.charAt(i) - '0'], rowStart(line), glyphWidth);
+            }
+        }
+    }
+
+    /**
+     * Writes a sequence of decimal digits in LCD format to the channel, through a new direct buffer.
+     *
+     * @param digits  the digits to render, has to contain at least one digit and nothing else
+     * @param channel the channel to write to
+     * @return the number of bytes written
+     * @throws IOException if the channel fails to write
+     */
+    public long write(CharSequence digits, WritableByteChannel channel) throws IOException {
+        return write(digits, channel, ByteBuffer.allocateDirect(Math.max(DEFAULT_BUFFER_SIZE, glyphWidth + 1)));
+    }
+
+    /**
+     * Writes a sequence of decimal digits in LCD format to the channel, through the given buffer.
+     * Reusing one direct buffer per thread avoids allocating one on every call.
+     *
+     * @param digits  the digits to render, has to contain at least one digit and nothing else
+     * @param channel the channel to write to
+     * @param buffer  the buffer used for staging output, at least one glyph line + 1 bytes large
+     * @return the number of bytes written
+     * @throws IOException if the channel fails to write
+     */
+    public long write(CharSequence digits, WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        long length = renderedLength(digits);
+        if (buffer.capacity() < glyphWidth + 1) {
+            throw new IllegalArgumentException("Buffer has to hold at least " + (glyphWidth + 1) + " bytes!");
+        }
+
+        buffer.clear();
+        for (int line = 0; line < lineCount; line++) {
+            if (line > 0) {
+                buffer.put(NEW_LINE);
+            }
+            for (int i = 0; i < digits.length(); i++) {
+                if (buffer.remaining() < glyphWidth + 1) {
+                    drain(buffer, channel);
+                }
+                buffer.put(glyphBytes[digits.charAt(i) - '0'], rowStart(line), glyphWidth);
+            }
+        }
+        drain(buffer, channel);
+
+        return length;
+    }
+
+    /**
+     * Writes a sequence of decimal digits in LCD format into a file through memory-mapped regions.
+     * The file region is sized up front from the digit count, width and height, and mapped piece by piece,
+     * so outputs larger than the heap or a single mapping can be written.
+     *
+     * @param digits   the digits to render, has to contain at least one digit and nothing else
+     * @param channel  a file channel opened for reading and writing
+     * @param position the position in the file to write at
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be mapped
+     */
+    public long writeMapped(CharSequence digits, FileChannel channel, long position) throws IOException {
+        return writeMapped(digits, channel, position, DEFAULT_MAPPING_SIZE);
+    }
+
+    /**
+     * Writes a sequence of decimal digits in LCD format into a file through memory-mapped regions of the given size.
+     *
+     * @param digits      the digits to render, has to contain at least one digit and nothing else
+     * @param channel     a file channel opened for reading and writing
+     * @param position    the position in the file to write at
+     * @param mappingSize the maximum size of one mapped region, at least one glyph line + 1 bytes
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be mapped
+     */
+    public long writeMapped(CharSequence digits, FileChannel channel, long position, long mappingSize)
+            throws IOException {
+        long length = renderedLength(digits);
+        if (mappingSize < glyphWidth + 1 || mappingSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Mapping size has to be between " + (glyphWidth + 1)
+                    + " and " + Integer.MAX_VALUE + " bytes!");
+        }
+
+        long end = position + length;
+        long mapped = position;
+        MappedByteBuffer region = map(channel, mapped, Math.min(mappingSize, end - mapped));
+        mapped += region.capacity();
+
+        for (int line = 0; line < lineCount; line++) {
+            for (int i = 0; i < digits.length(); i++) {
+                boolean newLine = line > 0 && i == 0;
+                int needed = glyphWidth + (newLine ? 1 : 0);
+                if (region.remaining() < needed) {
+                    long start = mapped - region.remaining();
+                    region.force();
+                    region = map(channel, start, Math.min(mappingSize, end - start));
+                    mapped = start + region.capacity();
+                }
+                if (newLine) {
+                    region.put(NEW_LINE);
+                }
+                region.put(glyphBytes[digits.charAt(i) - '0'], rowStart(line), glyphWidth);
+            }
+        }
+        region.force();
+
+        return length;
+    }
+
+    private int rowStart(int line) {
+        return table.getRowIndex(line) * glyphWidth;
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+    }
+
+    private static void drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
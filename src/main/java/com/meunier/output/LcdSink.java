@@ -0,0 +1,38 @@
+package com.meunier.output;
+
+import java.io.IOException;
+
+/**
+ * Destination for rendered LCD results.
+ * <p>
+ * Rendering never writes anywhere by itself; callers that want the results printed,
+ * logged or sent somewhere pass them to a sink explicitly.
+ */
+public interface LcdSink extends AutoCloseable {
+
+    /**
+     * Writes one rendered result.
+     *
+     * @param rendered the rendered LCD lines
+     * @throws IOException if the result cannot be written
+     */
+    void write(String rendered) throws IOException;
+
+    /**
+     * Pushes out any results still held by the sink.
+     *
+     * @throws IOException if the results cannot be written
+     */
+    default void flush() throws IOException {
+    }
+
+    /**
+     * Flushes the sink and releases its resources.
+     *
+     * @throws IOException if the remaining results cannot be written
+     */
+    @Override
+    default void close() throws IOException {
+        flush();
+    }
+}
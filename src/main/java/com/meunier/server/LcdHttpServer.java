@@ -0,0 +1,224 @@
+package com.meunier.server;
+
+import com.meunier.LcdRenderer;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Small HTTP service rendering numbers in LCD format, built on the JDK's built-in HTTP server.
+ * <p>
+ * Every request runs on its own virtual thread. Renderers look their glyph tables up from the
+ * shared cache, so requests for the same size share one immutable table without any locking.
+ * <ul>
+ *     <li>{@code GET /lcd?n=123&w=2&h=3} renders one number; {@code w} and {@code h} are optional.</li>
+ *     <li>{@code POST /lcd?w=2&h=3} renders one number per line of the request body,
+ *     and returns the results separated by empty lines.</li>
+ * </ul>
+ * Widths and heights above {@value #MAX_SIZE} and responses longer than {@value #MAX_RESPONSE_CHARS} chars
+ * are rejected with 400, so a single request cannot make the server build huge glyph tables or results.
+ * <p>
+ * The JDK server writes headers and body separately; without TCP_NODELAY every keep-alive response waits
+ * for the client's delayed ACK, adding ~40 ms per request. {@link #main} enables it, applications embedding
+ * the server should launch with {@code -Dsun.net.httpserver.nodelay=true}.
+ */
+public final class LcdHttpServer {
+
+    private static final String PATH = "/lcd";
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+    static final int MAX_SIZE = 100;
+    static final int MAX_RESPONSE_CHARS = 8 * 1024 * 1024;
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final String BATCH_SEPARATOR = "\n\n";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server bound to the given address. It does not accept requests until {@link #start()}.
+     *
+     * @param address the address to bind to, port 0 picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public LcdHttpServer(InetSocketAddress address) throws IOException {
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server.setExecutor(executor);
+        this.server.createContext(PATH, this::handle);
+    }
+
+    public static void main(String[] args) throws IOException {
+        // read once by the JDK server when the first server is created
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        LcdHttpServer server = new LcdHttpServer(new InetSocketAddress(port));
+        server.start();
+        System.out.println("Listening on http://localhost:" + server.getPort() + PATH);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits up to the given delay for running requests to finish.
+     *
+     * @param delaySeconds the maximum time to wait for running requests
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * @return the port the server is bound to
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            switch (exchange.getRequestMethod()) {
+                case "GET":
+                    handleGet(exchange, query);
+                    break;
+                case "POST":
+                    handlePost(exchange, query);
+                    break;
+                default:
+                    exchange.getResponseHeaders().set("Allow", "GET, POST");
+                    send(exchange, 405, "Method not allowed");
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleGet(HttpExchange exchange, Map<String, String> query) throws IOException {
+        String number = query.get("n");
+        if (number == null) {
+            throw new IllegalArgumentException("Missing parameter n");
+        }
+
+        LcdRenderer renderer = renderer(query);
+        checkResponseLength(renderer.renderedLength(number));
+        send(exchange, 200, renderer.render(number) + "\n");
+    }
+
+    private void handlePost(HttpExchange exchange, Map<String, String> query) throws IOException {
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            send(exchange, 413, "Request body is larger than " + MAX_BODY_BYTES + " bytes");
+            return;
+        }
+
+        LcdRenderer renderer = renderer(query);
+        StringBuilder response = new StringBuilder();
+        long responseLength = 0;
+        for (String line : new String(body, StandardCharsets.UTF_8).split("\n")) {
+            String number = line.trim();
+            if (number.isEmpty()) {
+                continue;
+            }
+            responseLength += renderer.renderedLength(number) + BATCH_SEPARATOR.length();
+            checkResponseLength(responseLength);
+            if (response.length() > 0) {
+                response.append(BATCH_SEPARATOR);
+            }
+            renderer.render(number, response);
+        }
+
+        send(exchange, 200, response.append('\n').toString());
+    }
+
+    private static LcdRenderer renderer(Map<String, String> query) {
+        String width = query.get("w");
+        String height = query.get("h");
+
+        if (width == null && height == null) {
+            return new LcdRenderer();
+        }
+        return new LcdRenderer(parseSize(width), parseSize(height));
+    }
+
+    private static int parseSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+        int size;
+        try {
+            size = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid size " + value);
+        }
+        if (size > MAX_SIZE) {
+            throw new IllegalArgumentException("Size cannot be larger than " + MAX_SIZE + ", found " + size);
+        }
+        return size;
+    }
+
+    private static void checkResponseLength(long length) {
+        if (length > MAX_RESPONSE_CHARS) {
+            throw new IllegalArgumentException("Response would be longer than " + MAX_RESPONSE_CHARS + " chars");
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    /**
+     * Reads the request body, or returns null if it is larger than the limit.
+     */
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (body.size() + read > MAX_BODY_BYTES) {
+                return null;
+            }
+            body.write(buffer, 0, read);
+        }
+        return body.toByteArray();
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
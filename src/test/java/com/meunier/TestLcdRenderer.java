@@ -0,0 +1,406 @@
+package com.meunier;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.LongStream;
+
+public class TestLcdRenderer {
+
+    private static final int THREADS = 8;
+    private static final int RENDERS_PER_THREAD = 2_000;
+
+    @Test
+    public void testBasicRenderer() {
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertEquals("    _ \n  | _|\n  ||_ ", renderer.render(12));
+    }
+
+    @Test
+    public void testSizedRenderer() {
+        LcdRenderer renderer = new LcdRenderer(3, 2);
+        Assert.assertEquals(" ___ \n    |\n    |\n ___ \n|    \n|    \n ___ ", renderer.render(2));
+    }
+
+    @Test
+    public void testRendererIsReusable() {
+        LcdRenderer renderer = new LcdRenderer(2, 2);
+        String first = renderer.render(1234567890);
+        String second = renderer.render(1234567890);
+        Assert.assertEquals(first, second);
+    }
+
+    @Test
+    public void testRepeatedRendersOfSameDigits() {
+        LcdRenderer renderer = new LcdRenderer(2, 2);
+        String expected = NumberToLCD.numbersToLcd(1111, 2, 2);
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(expected, renderer.render(1111));
+            Assert.assertEquals(expected, new LcdRenderer(2, 2).render(1111));
+        }
+    }
+
+    @Test
+    public void testConcurrentRendersOfSameDigits() throws Exception {
+        LcdRenderer renderer = new LcdRenderer(1, 2);
+        String expected = renderer.render(88888888);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < RENDERS_PER_THREAD; i++) {
+                        if (!expected.equals(renderer.render(88888888))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRendererInvalidSize() {
+        new LcdRenderer(0, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRendererNegativeNumber() {
+        new LcdRenderer(1, 1).render(-1);
+    }
+
+    @Test
+    public void testRenderLongMaxValue() {
+        LcdRenderer renderer = new LcdRenderer(1, 1);
+        String[] left = renderer.render(922337203L).split("\n");
+        String[] right = renderer.render(6854775807L).split("\n");
+        String[] result = renderer.render(Long.MAX_VALUE).split("\n");
+
+        Assert.assertEquals(left.length, result.length);
+        for (int line = 0; line < result.length; line++) {
+            Assert.assertEquals(left[line] + right[line], result[line]);
+        }
+    }
+
+    @Test
+    public void testRenderLongMatchesDigits() {
+        LcdRenderer renderer = new LcdRenderer(2, 1);
+        Assert.assertEquals(renderer.render("9223372036854775807"), renderer.render(Long.MAX_VALUE));
+        Assert.assertEquals(renderer.render("0"), renderer.render(0L));
+    }
+
+    @Test
+    public void testRenderBigInteger() {
+        LcdRenderer renderer = new LcdRenderer();
+        BigInteger number = new BigInteger("123456789012345678901234567890");
+        Assert.assertEquals(renderer.render(number.toString()), renderer.render(number));
+        Assert.assertEquals(NumberToLCD.numbersToLcd(12), renderer.render(BigInteger.valueOf(12)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRenderNegativeBigInteger() {
+        new LcdRenderer().render(BigInteger.valueOf(-1));
+    }
+
+    @Test
+    public void testRenderDigitsKeepsLeadingZeros() {
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertEquals(" _     _ \n| |  | _|\n|_|  ||_ ", renderer.render("012"));
+    }
+
+    @Test
+    public void testRenderInvalidDigits() {
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertThrows(IllegalArgumentException.class, () -> renderer.render(""));
+        Assert.assertThrows(IllegalArgumentException.class, () -> renderer.render("12a"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> renderer.render("-1"));
+    }
+
+    @Test
+    public void testRenderText() {
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertEquals("         \n _   |  |\n     |  |", renderer.renderText("-11"));
+        Assert.assertEquals("       _ \n  |    _|\n  | . |_ ", renderer.renderText("1.2"));
+        Assert.assertEquals(renderer.renderText("ff"), renderer.renderText("FF"));
+    }
+
+    @Test
+    public void testRenderTextDigitsMatchRender() throws Exception {
+        for (LcdRenderer renderer : new LcdRenderer[]{new LcdRenderer(), new LcdRenderer(2, 3)}) {
+            Assert.assertEquals(renderer.render("0123456789"), renderer.renderText("0123456789"));
+
+            StringBuilder sb = new StringBuilder();
+            renderer.renderText("12:45", sb);
+            Assert.assertEquals(renderer.renderText("12:45"), sb.toString());
+        }
+    }
+
+    @Test
+    public void testRenderRowsOfTallDigits() throws Exception {
+        LcdRenderer renderer = new LcdRenderer(2, 40);
+        StringWriter writer = new StringWriter();
+
+        renderer.renderRows("0123456789", writer);
+
+        Assert.assertEquals(renderer.render("0123456789"), writer.toString());
+        Assert.assertEquals(83, writer.toString().split("\n").length);
+    }
+
+    @Test(timeout = 5_000)
+    public void testRenderRowsOfBasicDigits() throws Exception {
+        LcdRenderer renderer = new LcdRenderer();
+        StringWriter writer = new StringWriter();
+
+        renderer.renderRows("0123456789", writer);
+
+        Assert.assertEquals(renderer.render("0123456789"), writer.toString());
+    }
+
+    @Test
+    public void testRenderInvalidText() {
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertThrows(IllegalArgumentException.class, () -> renderer.renderText(""));
+        Assert.assertThrows(IllegalArgumentException.class, () -> renderer.renderText("12G"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> renderer.renderText("1+2"));
+    }
+
+    @Test
+    public void testRenderRowsMatchesRender() throws Exception {
+        LcdRenderer renderer = new LcdRenderer(3, 2);
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            digits.append((char) ('0' + i * 7 % 10));
+        }
+
+        StringWriter writer = new StringWriter();
+        renderer.renderRows(digits, writer);
+
+        Assert.assertEquals(renderer.render(digits), writer.toString());
+        Assert.assertEquals(renderer.renderedLength(digits), writer.toString().length());
+    }
+
+    @Test
+    public void testRenderRowsWritesOneLineAtATime() throws Exception {
+        LcdRenderer renderer = new LcdRenderer(1, 1);
+        List<Integer> writes = new ArrayList<>();
+        Writer writer = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+                writes.add(len);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        renderer.renderRows("1234", writer);
+
+        // 5 lines of 4 digits, 3 chars each, plus 4 separators
+        Assert.assertEquals(List.of(12, 1, 12, 1, 12, 1, 12, 1, 12), writes);
+    }
+
+    @Test
+    public void testRenderAllMatchesSingleRenders() {
+        LcdRenderer renderer = new LcdRenderer(2, 1);
+        long[] numbers = {0, 5, 42, 1234567890123L, Long.MAX_VALUE};
+
+        String[] results = renderer.renderAll(numbers);
+
+        Assert.assertEquals(numbers.length, results.length);
+        for (int i = 0; i < numbers.length; i++) {
+            Assert.assertEquals(renderer.render(numbers[i]), results[i]);
+        }
+    }
+
+    @Test
+    public void testRenderAllIntoOneBuffer() throws Exception {
+        LcdRenderer renderer = new LcdRenderer();
+        String expected = renderer.render(1) + "\n\n" + renderer.render(22) + "\n\n" + renderer.render(333);
+
+        StringBuilder fromArray = new StringBuilder();
+        renderer.renderAll(new long[]{1, 22, 333}, fromArray, "\n\n");
+        StringBuilder fromStream = new StringBuilder();
+        renderer.renderAll(LongStream.of(1, 22, 333), fromStream, "\n\n");
+
+        Assert.assertEquals(expected, fromArray.toString());
+        Assert.assertEquals(expected, fromStream.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRenderAllNegativeNumber() {
+        new LcdRenderer().renderAll(new int[]{1, -1});
+    }
+
+    @Test
+    public void testPairPathMatchesDigitSequence() {
+        LcdRenderer[] renderers = {
+                new LcdRenderer(), new LcdRenderer(1, 1), new LcdRenderer(2, 3), new LcdRenderer(8, 2),
+                new LcdRenderer(9, 1)
+        };
+        long[] numbers = {0, 7, 10, 99, 100, 101, 9_090, 12_345, 1_000_000_007L, 12_345_678_901_234_567L,
+                100_000_000_000_000_000L, 999_999_999_999_999_999L, Long.MAX_VALUE};
+
+        for (LcdRenderer renderer : renderers) {
+            for (long number : numbers) {
+                Assert.assertEquals(renderer.render(Long.toString(number)), renderer.render(number));
+            }
+            // every digit count from 1 to 19
+            long number = 0;
+            for (int digits = 1; digits <= 19; digits++) {
+                number = number * 10 + digits % 10;
+                Assert.assertEquals(renderer.render(Long.toString(number)), renderer.render(number));
+            }
+        }
+    }
+
+    @Test
+    public void testRenderToAppendable() throws Exception {
+        LcdRenderer renderer = new LcdRenderer();
+        StringBuilder sb = new StringBuilder();
+        renderer.render(12L, sb);
+        Assert.assertEquals("    _ \n  | _|\n  ||_ ", sb.toString());
+    }
+
+    @Test
+    public void testRenderToCharBuffer() {
+        LcdRenderer renderer = new LcdRenderer(2, 2);
+        CharBuffer buffer = CharBuffer.allocate(renderer.renderedLength(1234567890L));
+        renderer.render(1234567890L, buffer);
+        buffer.flip();
+        Assert.assertEquals(renderer.render(1234567890), buffer.toString());
+    }
+
+    @Test
+    public void testRenderToSmallCharBuffer() {
+        LcdRenderer renderer = new LcdRenderer();
+        CharBuffer buffer = CharBuffer.allocate(5);
+        Assert.assertThrows(BufferOverflowException.class, () -> renderer.render(123L, buffer));
+        Assert.assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testRenderToAppendableDoesNotAllocate() throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        LcdRenderer renderer = new LcdRenderer(2, 3);
+        StringBuilder sb = new StringBuilder(renderer.renderedLength(Long.MAX_VALUE));
+        CharBuffer buffer = CharBuffer.allocate(renderer.renderedLength(Long.MAX_VALUE));
+
+        for (int i = 0; i < 20_000; i++) {
+            sb.setLength(0);
+            renderer.render(Long.MAX_VALUE - i, sb);
+            buffer.clear();
+            renderer.render(i, buffer);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            sb.setLength(0);
+            renderer.render(Long.MAX_VALUE - i, sb);
+            buffer.clear();
+            renderer.render(i, buffer);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // allow for the measurement call itself, but nothing per render
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    @Test
+    public void testConcurrentMixedSizes() throws Exception {
+        LcdRenderer[] renderers = {
+                new LcdRenderer(), new LcdRenderer(1, 1), new LcdRenderer(2, 3), new LcdRenderer(5, 1)
+        };
+        int[] numbers = {0, 7, 42, 1234567890, Integer.MAX_VALUE};
+
+        String[][] expected = new String[renderers.length][numbers.length];
+        for (int r = 0; r < renderers.length; r++) {
+            for (int n = 0; n < numbers.length; n++) {
+                expected[r][n] = renderers[r].render(numbers[n]);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int mismatches = 0;
+                    for (int i = 0; i < RENDERS_PER_THREAD; i++) {
+                        int r = (i + offset) % renderers.length;
+                        int n = (i * 7 + offset) % numbers.length;
+                        if (!expected[r][n].equals(renderers[r].render(numbers[n]))) {
+                            mismatches++;
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            start.countDown();
+
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(Integer.valueOf(0), result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentFacadeCalls() throws Exception {
+        String expectedSmall = NumberToLCD.numbersToLcd(8, 1, 1);
+        String expectedLarge = NumberToLCD.numbersToLcd(8, 4, 4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                boolean small = t % 2 == 0;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        String result = small ? NumberToLCD.numbersToLcd(8, 1, 1) : NumberToLCD.numbersToLcd(8, 4, 4);
+                        if (!result.equals(small ? expectedSmall : expectedLarge)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
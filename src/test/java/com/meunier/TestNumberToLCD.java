@@ -150,4 +150,24 @@ public class TestNumberToLCD {
         NumberToLCD.numbersToLcd(-5, 1, 5);
     }
 
+    @Test
+    public void testSolutionWithBatch() {
+        String[] result = NumberToLCD.numbersToLcd(new int[]{5, 12});
+        String[] expectedResult = {" _ \n|_ \n _|", "    _ \n  | _|\n  ||_ "};
+        Assert.assertArrayEquals(expectedResult, result);
+    }
+
+    @Test
+    public void testSolutionWithBatchWithWidthHeight() {
+        String[] result = NumberToLCD.numbersToLcd(new int[]{2, 3}, 3, 2);
+        Assert.assertArrayEquals(new String[]{
+                NumberToLCD.numbersToLcd(2, 3, 2), NumberToLCD.numbersToLcd(3, 3, 2)}, result);
+    }
+
+    @Test
+    public void testSolutionWithText() {
+        Assert.assertEquals("         \n _   |  |\n     |  |", NumberToLCD.textToLcd("-11"));
+        Assert.assertEquals(NumberToLCD.numbersToLcd(12045, 2, 2).length(),
+                NumberToLCD.textToLcd("12:45", 2, 2).length());
+    }
 }
@@ -0,0 +1,81 @@
+package com.meunier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class TestParallelLcdRenderer {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @After
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testBatchMatchesSequential() {
+        LcdRenderer renderer = new LcdRenderer(2, 1);
+        ParallelLcdRenderer parallel = new ParallelLcdRenderer(renderer, pool, 16);
+        long[] numbers = numbers(1_000);
+
+        Assert.assertArrayEquals(renderer.renderAll(numbers), parallel.renderAll(numbers));
+    }
+
+    @Test
+    public void testJoinedBatchMatchesSequential() throws Exception {
+        LcdRenderer renderer = new LcdRenderer();
+        ParallelLcdRenderer parallel = new ParallelLcdRenderer(renderer, pool, 16);
+        long[] numbers = numbers(1_000);
+
+        StringBuilder expected = new StringBuilder();
+        renderer.renderAll(numbers, expected, "\n\n");
+
+        Assert.assertEquals(expected.toString(), parallel.renderAll(numbers, "\n\n"));
+    }
+
+    @Test
+    public void testWideNumberMatchesSequential() {
+        LcdRenderer renderer = new LcdRenderer(3, 2);
+        ParallelLcdRenderer parallel = new ParallelLcdRenderer(renderer, pool, 100);
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < 10_007; i++) {
+            digits.append((char) ('0' + i * 31 % 10));
+        }
+
+        Assert.assertEquals(renderer.render(digits), parallel.render(digits));
+    }
+
+    @Test
+    public void testBelowThresholdStaysSequential() {
+        LcdRenderer renderer = new LcdRenderer();
+        ParallelLcdRenderer parallel = new ParallelLcdRenderer(renderer, pool, 1_000);
+
+        Assert.assertEquals(renderer.render("12345"), parallel.render("12345"));
+        Assert.assertArrayEquals(renderer.renderAll(new long[]{1, 2}), parallel.renderAll(new long[]{1, 2}));
+        Assert.assertEquals(renderer.render(1) + "," + renderer.render(2), parallel.renderAll(new long[]{1, 2}, ","));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeNumberInBatch() {
+        long[] numbers = numbers(100);
+        numbers[50] = -1;
+        new ParallelLcdRenderer(new LcdRenderer(), pool, 8).renderAll(numbers, "\n");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreshold() {
+        new ParallelLcdRenderer(new LcdRenderer(), pool, 0);
+    }
+
+    private static long[] numbers(int count) {
+        long[] numbers = new long[count];
+        for (int i = 0; i < count; i++) {
+            numbers[i] = (long) i * i * 7_919;
+        }
+        return numbers;
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.meunier;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestRenderedOutputCache {
+
+    @After
+    public void disableCache() {
+        NumberToLCD.disableResultCache();
+    }
+
+    @Test
+    public void testHitReturnsSameResult() {
+        RenderedOutputCache cache = new RenderedOutputCache(1 << 20);
+        LcdRenderer renderer = new LcdRenderer(2, 2);
+
+        String first = cache.get(1234, 2, 2, renderer::render);
+        String second = cache.get(1234, 2, 2, n -> {
+            throw new AssertionError("should be cached");
+        });
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(0.5, cache.getHitRate(), 0.0001);
+        Assert.assertTrue(cache.getUsedBytes() > first.length());
+    }
+
+    @Test
+    public void testKeyIncludesSize() {
+        RenderedOutputCache cache = new RenderedOutputCache(1 << 20);
+
+        String small = cache.get(8, 1, 1, new LcdRenderer(1, 1)::render);
+        String large = cache.get(8, 3, 3, new LcdRenderer(3, 3)::render);
+
+        Assert.assertNotEquals(small, large);
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testMemoryBudgetIsKept() {
+        long budget = 64 * 1024;
+        RenderedOutputCache cache = new RenderedOutputCache(budget);
+        LcdRenderer renderer = new LcdRenderer(2, 2);
+
+        for (long number = 0; number < 10_000; number++) {
+            cache.get(number, 2, 2, renderer::render);
+        }
+
+        Assert.assertTrue(cache.getUsedBytes() <= budget);
+        Assert.assertTrue(cache.getEvictionCount() > 0);
+        Assert.assertTrue(cache.size() < 10_000);
+    }
+
+    @Test
+    public void testEntriesLargerThanOneStripeAreNotCached() {
+        RenderedOutputCache cache = new RenderedOutputCache(16 * 1000);
+        Assert.assertEquals(1000, cache.getMaxEntryBytes());
+
+        StringBuilder sb = new StringBuilder("x");
+        while (RenderedOutputCache.estimateBytes(sb.toString()) < cache.getMaxEntryBytes()) {
+            sb.append('x');
+        }
+        String fits = sb.toString();
+        String tooLarge = fits + "x";
+
+        cache.get(1, 1, 1, number -> fits);
+        cache.get(2, 1, 1, number -> tooLarge);
+        cache.get(2, 1, 1, number -> tooLarge);
+
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(2, cache.getOversizedCount());
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertSame(fits, cache.get(1, 1, 1, number -> "other"));
+    }
+
+    @Test
+    public void testClearReleasesMemory() {
+        RenderedOutputCache cache = new RenderedOutputCache(1 << 20);
+        cache.get(1, -1, -1, new LcdRenderer()::render);
+
+        cache.clear();
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    public void testFacadeOutputUnchangedWithCache() {
+        String[] expected = new String[200];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = NumberToLCD.numbersToLcd(i * 37, 1 + i % 3, 1 + i % 2);
+        }
+
+        RenderedOutputCache cache = NumberToLCD.enableResultCache(1 << 20);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < expected.length; i++) {
+                Assert.assertEquals(expected[i], NumberToLCD.numbersToLcd(i * 37, 1 + i % 3, 1 + i % 2));
+            }
+        }
+
+        Assert.assertTrue(cache.getHitCount() > 0);
+        Assert.assertEquals(" _ \n|_ \n _|", NumberToLCD.numbersToLcd(5));
+    }
+
+    @Test
+    public void testFacadeValidationWithCache() {
+        NumberToLCD.enableResultCache(1 << 20);
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> NumberToLCD.numbersToLcd(-5));
+        Assert.assertThrows(IllegalArgumentException.class, () -> NumberToLCD.numbersToLcd(5, 0, 1));
+        Assert.assertThrows(IllegalArgumentException.class, () -> NumberToLCD.numbersToLcd(5, 1, 0));
+        Assert.assertEquals(0, NumberToLCD.getResultCache().size());
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.meunier.cli;
+
+import com.meunier.LcdRenderer;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestLcdCli {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Test
+    public void testStdinWithDefaults() {
+        int exitCode = run("1\n23\n", new String[0]);
+
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertEquals(0, exitCode);
+        Assert.assertEquals(renderer.render(1) + "\n\n" + renderer.render(23) + "\n", out());
+    }
+
+    @Test
+    public void testSizeAndSeparator() {
+        int exitCode = run("4\n5\n", new String[]{"-w", "2", "--height", "3", "-s", "\\n--\\n"});
+
+        LcdRenderer renderer = new LcdRenderer(2, 3);
+        Assert.assertEquals(0, exitCode);
+        Assert.assertEquals(renderer.render(4) + "\n--\n" + renderer.render(5) + "\n", out());
+    }
+
+    @Test
+    public void testThreadsKeepOrder() {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        LcdRenderer renderer = new LcdRenderer(1, 1);
+        for (int i = 0; i < 1_000; i++) {
+            input.append(i * 31).append('\n');
+            expected.append(i > 0 ? "\n" : "").append(renderer.render(i * 31));
+        }
+
+        int exitCode = run(input.toString(), new String[]{"-w", "1", "-h", "1", "-t", "4", "-c", "64", "-s", "\\n"});
+
+        Assert.assertEquals(0, exitCode);
+        Assert.assertEquals(expected + "\n", out());
+    }
+
+    @Test
+    public void testFilesAndStats() throws Exception {
+        Path first = folder.newFile().toPath();
+        Path second = folder.newFile().toPath();
+        Files.write(first, "7\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(second, "8\n".getBytes(StandardCharsets.UTF_8));
+
+        int exitCode = run("", new String[]{"--stats", "-s", "|", first.toString(), second.toString()});
+
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertEquals(0, exitCode);
+        Assert.assertEquals(renderer.render(7) + "|" + renderer.render(8) + "\n", out());
+        Assert.assertTrue(err().contains("Rendered 2 lines"));
+        Assert.assertTrue(err().contains("lines/s"));
+    }
+
+    @Test
+    public void testMissingFileKeepsEarlierResults() throws Exception {
+        Path first = folder.newFile().toPath();
+        Files.write(first, "7\n".getBytes(StandardCharsets.UTF_8));
+        Path missing = first.resolveSibling("missing.txt");
+
+        int exitCode = run("", new String[]{first.toString(), missing.toString()});
+
+        Assert.assertEquals(1, exitCode);
+        Assert.assertEquals(new LcdRenderer().render(7), out());
+        Assert.assertTrue(err().contains("I/O error"));
+    }
+
+    @Test
+    public void testWidthAloneUsesHeightOne() {
+        int exitCode = run("4\n", new String[]{"-w", "2"});
+
+        Assert.assertEquals(0, exitCode);
+        Assert.assertEquals(new LcdRenderer(2, 1).render(4) + "\n", out());
+    }
+
+    @Test
+    public void testInvalidLinesAreReported() throws Exception {
+        Path file = folder.newFile("numbers.txt").toPath();
+        Files.write(file, "3\n\nx4\n".getBytes(StandardCharsets.UTF_8));
+
+        int exitCode = run("1\nabc\n\n2\n", new String[]{"-s", "|", "-", file.toString()});
+
+        LcdRenderer renderer = new LcdRenderer();
+        Assert.assertEquals(2, exitCode);
+        Assert.assertEquals(renderer.render(1) + "|" + renderer.render(2) + "|" + renderer.render(3) + "\n", out());
+        Assert.assertTrue(err().contains("Line 2 of -: invalid number 'abc'"));
+        // line numbers restart with every input
+        Assert.assertTrue(err().contains("Line 3 of " + file + ": invalid number 'x4'"));
+    }
+
+    @Test
+    public void testInvalidOption() {
+        Assert.assertEquals(1, run("", new String[]{"--width", "0"}));
+        Assert.assertEquals(1, run("", new String[]{"--bogus"}));
+        Assert.assertEquals(1, run("", new String[]{"--threads"}));
+    }
+
+    private int run(String input, String[] args) {
+        return LcdCli.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8));
+    }
+
+    private String out() {
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private String err() {
+        return err.toString(StandardCharsets.UTF_8);
+    }
+
+}
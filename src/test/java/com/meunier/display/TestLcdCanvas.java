@@ -0,0 +1,128 @@
+package com.meunier.display;
+
+import com.meunier.LcdRenderer;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+public class TestLcdCanvas {
+
+    @Test
+    public void testDrawMatchesRender() {
+        LcdRenderer renderer = new LcdRenderer(2, 3);
+        String expected = renderer.render(9876543210L);
+        LcdCanvas canvas = new LcdCanvas(expected.indexOf('\n'), renderer.getGlyphTable().getLineCount());
+
+        int columns = canvas.draw(renderer, 9876543210L, 0, 0);
+
+        Assert.assertEquals(canvas.getColumns(), columns);
+        Assert.assertEquals(expected, canvas.getFrame());
+    }
+
+    @Test
+    public void testDrawAtPositionsAndSizes() {
+        LcdRenderer basic = new LcdRenderer();
+        LcdRenderer small = new LcdRenderer(1, 1);
+        LcdCanvas canvas = new LcdCanvas(12, 6);
+
+        int next = canvas.draw(basic, 12, 1, 0);
+        canvas.draw(small, 7, 1 + next, 1);
+        canvas.drawText(basic, "-", 0, 3);
+
+        Assert.assertEquals(String.join("\n",
+                "     _      ",
+                "   | _| _   ",
+                "   ||_   |  ",
+                "            ",
+                " _       |  ",
+                "            "), canvas.getFrame());
+    }
+
+    @Test
+    public void testDrawIsClipped() {
+        LcdRenderer renderer = new LcdRenderer();
+        LcdCanvas canvas = new LcdCanvas(4, 2);
+
+        canvas.draw(renderer, 88, -1, -1);
+
+        Assert.assertEquals("_||_\n_||_", canvas.getFrame());
+
+        canvas.draw(renderer, 8, 100, 100);
+        canvas.draw(renderer, 8, -100, -100);
+        Assert.assertEquals("_||_\n_||_", canvas.getFrame());
+    }
+
+    @Test
+    public void testDrawAtExtremePositions() {
+        LcdRenderer renderer = new LcdRenderer(2, 2);
+        LcdCanvas canvas = new LcdCanvas(4, 2);
+        String blank = canvas.getFrame();
+
+        canvas.draw(renderer, Long.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE);
+        canvas.draw(renderer, Long.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        canvas.draw(renderer, 8, Integer.MIN_VALUE, 0);
+        canvas.draw(renderer, 8, 0, Integer.MIN_VALUE);
+        canvas.drawText(renderer, "88:88", Integer.MAX_VALUE - 1, 0);
+        canvas.fill(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, '#');
+
+        Assert.assertEquals(blank, canvas.getFrame());
+    }
+
+    @Test
+    public void testFillAndClearRegions() {
+        LcdCanvas canvas = new LcdCanvas(5, 3);
+
+        canvas.fill(-2, 1, 5, 10, '#');
+        Assert.assertEquals("     \n###  \n###  ", canvas.getFrame());
+
+        canvas.clear(1, 0, 1, 2);
+        Assert.assertEquals("     \n# #  \n###  ", canvas.getFrame());
+
+        canvas.clear();
+        Assert.assertEquals("     \n     \n     ", canvas.getFrame());
+    }
+
+    @Test
+    public void testInvalidInput() {
+        LcdCanvas canvas = new LcdCanvas(5, 3);
+        Assert.assertThrows(IllegalArgumentException.class, () -> new LcdCanvas(0, 3));
+        Assert.assertThrows(IllegalArgumentException.class, () -> canvas.draw(new LcdRenderer(), -1, 0, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> canvas.drawText(new LcdRenderer(), "1x", 0, 0));
+        Assert.assertEquals("     \n     \n     ", canvas.getFrame());
+    }
+
+    @Test
+    public void testFrameCompositionDoesNotAllocate() throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        LcdRenderer large = new LcdRenderer(3, 2);
+        LcdRenderer small = new LcdRenderer(1, 1);
+        LcdCanvas canvas = new LcdCanvas(120, 20);
+        StringBuilder out = new StringBuilder(canvas.getColumns() * canvas.getLines() + canvas.getLines());
+
+        for (int frame = 0; frame < 20_000; frame++) {
+            composeFrame(canvas, large, small, frame, out);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int frame = 0; frame < 10_000; frame++) {
+            composeFrame(canvas, large, small, frame, out);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+    }
+
+    private static void composeFrame(LcdCanvas canvas, LcdRenderer large, LcdRenderer small, int frame,
+                                     StringBuilder out) throws Exception {
+        canvas.clear();
+        canvas.draw(large, frame, 0, 0);
+        canvas.draw(small, frame * 31L, 60, 10);
+        canvas.drawText(small, "12:45", 0, 12);
+        out.setLength(0);
+        canvas.flush(out);
+    }
+}
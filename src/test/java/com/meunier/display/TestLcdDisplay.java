@@ -0,0 +1,107 @@
+package com.meunier.display;
+
+import com.meunier.LcdRenderer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TestLcdDisplay {
+
+    @Test
+    public void testInitialFrameMatchesRender() {
+        LcdRenderer renderer = new LcdRenderer(2, 2);
+        LcdDisplay display = new LcdDisplay(renderer, 1234);
+
+        Assert.assertEquals(renderer.render(1234), display.getFrame());
+    }
+
+    @Test
+    public void testCounterFramesMatchRender() {
+        LcdRenderer renderer = new LcdRenderer(1, 2);
+        LcdDisplay display = new LcdDisplay(renderer, 0);
+
+        for (long value = 1; value < 2_000; value++) {
+            display.update(value);
+            Assert.assertEquals(renderer.render(value), display.getFrame());
+        }
+    }
+
+    @Test
+    public void testDigitWithIdenticalGlyphIsNotDirty() {
+        // the middle digit changed but its glyph is the same on every line
+        int[] firstLines = {0, -1, 1};
+        int[] lastLines = {2, -1, 1};
+
+        List<DirtyRegion> regions = LcdDisplay.collectRegions(firstLines, lastLines, 3, 3);
+
+        Assert.assertEquals(List.of(new DirtyRegion(0, 3, 0, 3), new DirtyRegion(1, 1, 6, 3)), regions);
+    }
+
+    @Test
+    public void testIncrementOnlyDirtiesLastDigit() {
+        LcdDisplay display = new LcdDisplay(new LcdRenderer(), 120);
+
+        List<DirtyRegion> regions = display.update(121);
+
+        // 0 -> 1 changes every line of the last digit
+        Assert.assertEquals(Collections.singletonList(new DirtyRegion(0, 3, 6, 3)), regions);
+    }
+
+    @Test
+    public void testDirtyLinesAreLimited() {
+        LcdDisplay display = new LcdDisplay(new LcdRenderer(1, 1), 8);
+
+        // 8 -> 9 only drops the lower left column
+        List<DirtyRegion> regions = display.update(9);
+
+        Assert.assertEquals(Collections.singletonList(new DirtyRegion(3, 1, 0, 3)), regions);
+    }
+
+    @Test
+    public void testAdjacentDigitsAreMerged() {
+        LcdDisplay display = new LcdDisplay(new LcdRenderer(), 1099);
+
+        List<DirtyRegion> regions = display.update(1100);
+
+        Assert.assertEquals(1, regions.size());
+        Assert.assertEquals(3, regions.get(0).getFirstColumn());
+        Assert.assertEquals(9, regions.get(0).getColumnCount());
+    }
+
+    @Test
+    public void testUnchangedValueHasNoRegions() {
+        LcdDisplay display = new LcdDisplay(new LcdRenderer(), 42);
+
+        Assert.assertTrue(display.update(42).isEmpty());
+    }
+
+    @Test
+    public void testDigitCountChangeDirtiesWholeFrame() {
+        LcdRenderer renderer = new LcdRenderer();
+        LcdDisplay display = new LcdDisplay(renderer, 99);
+
+        List<DirtyRegion> regions = display.update(100);
+
+        Assert.assertEquals(Collections.singletonList(new DirtyRegion(0, 3, 0, 9)), regions);
+        Assert.assertEquals(renderer.render(100), display.getFrame());
+    }
+
+    @Test
+    public void testWriteRegion() throws Exception {
+        LcdDisplay display = new LcdDisplay(new LcdRenderer(), 10);
+        DirtyRegion region = display.update(11).get(0);
+
+        StringBuilder sb = new StringBuilder();
+        display.writeRegion(region, sb);
+
+        Assert.assertEquals("   \n  |\n  |", sb.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeValue() {
+        new LcdDisplay(new LcdRenderer(), 1).update(-1);
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.meunier.display;
+
+import com.meunier.LcdRenderer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestRefreshScheduler {
+
+    private final LcdRenderer renderer = new LcdRenderer(1, 1);
+    private final Map<String, String> frames = new ConcurrentHashMap<>();
+    private final AtomicInteger frameCount = new AtomicInteger();
+
+    private void onFrame(String displayId, long value, String frame) {
+        frames.put(displayId, frame);
+        frameCount.incrementAndGet();
+    }
+
+    @Test
+    public void testUpdatesAreCoalescedPerTick() {
+        try (RefreshScheduler<String> scheduler = new RefreshScheduler<>(renderer, 100, 2, this::onFrame)) {
+            for (long value = 0; value < 1_000; value++) {
+                scheduler.update("a", value);
+                scheduler.update("b", value * 2);
+            }
+            Assert.assertEquals(2, scheduler.getQueueDepth());
+
+            scheduler.tick();
+
+            Assert.assertEquals(2, frameCount.get());
+            Assert.assertEquals(renderer.render(999), frames.get("a"));
+            Assert.assertEquals(renderer.render(1998), frames.get("b"));
+            Assert.assertEquals(0, scheduler.getQueueDepth());
+            Assert.assertEquals(2_000, scheduler.getUpdateCount());
+            Assert.assertEquals(2, scheduler.getRenderCount());
+            Assert.assertEquals(1_998, scheduler.getRendersSaved());
+        }
+    }
+
+    @Test
+    public void testUnchangedValuesAreSkipped() {
+        try (RefreshScheduler<String> scheduler = new RefreshScheduler<>(renderer, 100, 1, this::onFrame)) {
+            scheduler.update("a", 42);
+            scheduler.tick();
+            scheduler.update("a", 7);
+            scheduler.update("a", 42);
+            scheduler.tick();
+            scheduler.tick();
+
+            Assert.assertEquals(1, frameCount.get());
+            Assert.assertEquals(1, scheduler.getUnchangedSkipCount());
+            Assert.assertEquals(2, scheduler.getRendersSaved());
+            Assert.assertEquals(3, scheduler.getTickCount());
+        }
+    }
+
+    @Test
+    public void testManyDisplaysOnWorkers() {
+        try (RefreshScheduler<Integer> scheduler = new RefreshScheduler<>(renderer, 100, 4,
+                (id, value, frame) -> frameCount.incrementAndGet())) {
+            for (int id = 0; id < 5_000; id++) {
+                scheduler.update(id, id);
+            }
+            scheduler.tick();
+
+            Assert.assertEquals(5_000, frameCount.get());
+            Assert.assertEquals(5_000, scheduler.getDisplayCount());
+        }
+    }
+
+    @Test
+    public void testFailingListenerIsCounted() {
+        try (RefreshScheduler<String> scheduler = new RefreshScheduler<>(renderer, 100, 1, (id, value, frame) -> {
+            throw new IllegalStateException("display offline");
+        })) {
+            scheduler.update("a", 1);
+            scheduler.tick();
+
+            Assert.assertEquals(1, scheduler.getFailureCount());
+            Assert.assertEquals(0, scheduler.getRenderCount());
+        }
+    }
+
+    @Test
+    public void testTickOverrun() {
+        try (RefreshScheduler<String> scheduler = new RefreshScheduler<>(renderer, 1, 1, (id, value, frame) -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        })) {
+            scheduler.update("a", 1);
+            scheduler.tick();
+
+            Assert.assertEquals(1, scheduler.getTickOverrunCount());
+            Assert.assertTrue(scheduler.getLastTickNanos() > TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    @Test
+    public void testStartedSchedulerRenders() throws Exception {
+        CountDownLatch rendered = new CountDownLatch(1);
+        try (RefreshScheduler<String> scheduler = new RefreshScheduler<>(renderer, 10, 1,
+                (id, value, frame) -> rendered.countDown())) {
+            scheduler.start();
+            scheduler.update("a", 5);
+
+            Assert.assertTrue(rendered.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testInvalidInput() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new RefreshScheduler<String>(renderer, 0, 1, this::onFrame));
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new RefreshScheduler<String>(renderer, 10, 0, this::onFrame));
+        try (RefreshScheduler<String> scheduler = new RefreshScheduler<>(renderer, 10, 1, this::onFrame)) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> scheduler.update("a", -1));
+        }
+    }
+}
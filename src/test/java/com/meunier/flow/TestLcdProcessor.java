@@ -0,0 +1,248 @@
+package com.meunier.flow;
+
+import com.meunier.LcdRenderer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestLcdProcessor {
+
+    @Test
+    public void testRendersInOrder() throws Exception {
+        LcdRenderer renderer = new LcdRenderer(2, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            SubmissionPublisher<Long> upstream = new SubmissionPublisher<>(executor, 16);
+            LcdProcessor processor = new LcdProcessor(renderer, executor, 16, 8);
+            CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE, 0, null);
+            upstream.subscribe(processor);
+            processor.subscribe(subscriber);
+
+            for (long i = 0; i < 500; i++) {
+                upstream.submit(i * 37);
+            }
+            upstream.close();
+
+            Assert.assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            Assert.assertNull(subscriber.error.get());
+            Assert.assertEquals(500, subscriber.frames.size());
+            for (int i = 0; i < 500; i++) {
+                Assert.assertEquals(renderer.render(i * 37L), subscriber.frames.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSlowSubscriberKeepsBufferBounded() throws Exception {
+        LcdRenderer renderer = new LcdRenderer(3, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountingPublisher upstream = new CountingPublisher(300);
+            LcdProcessor processor = new LcdProcessor(renderer, executor, 8, 4);
+            // requests one frame at a time and pauses every few frames
+            CollectingSubscriber subscriber = new CollectingSubscriber(1, 10, upstream.emitted);
+            processor.subscribe(subscriber);
+            upstream.subscribe(processor);
+
+            Assert.assertTrue(subscriber.done.await(30, TimeUnit.SECONDS));
+            Assert.assertNull(subscriber.error.get());
+            Assert.assertEquals(300, subscriber.frames.size());
+            // numbers in flight, queued or rendered are bounded by the buffer capacity
+            Assert.assertTrue("Held " + subscriber.maxHeld.get() + " frames",
+                    subscriber.maxHeld.get() <= processor.getMaxBufferCapacity());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNegativeNumberFailsStream() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            SubmissionPublisher<Long> upstream = new SubmissionPublisher<>(executor, 16);
+            LcdProcessor processor = new LcdProcessor(new LcdRenderer(), executor, 16, 8);
+            CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE, 0, null);
+            upstream.subscribe(processor);
+            processor.subscribe(subscriber);
+
+            upstream.submit(1L);
+            upstream.submit(-1L);
+            upstream.submit(2L);
+            upstream.close();
+
+            Assert.assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(subscriber.error.get() instanceof IllegalArgumentException);
+            Assert.assertTrue(processor.isClosed());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSingleThreadSharedByBothEnds() throws Exception {
+        LcdRenderer renderer = new LcdRenderer();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            SubmissionPublisher<Long> source = new SubmissionPublisher<>(executor, 4);
+            LcdProcessor processor = new LcdProcessor(renderer, executor, 4, 2);
+            CollectingSubscriber subscriber = new CollectingSubscriber(1, 0, null);
+            source.subscribe(processor);
+            processor.subscribe(subscriber);
+
+            // submit blocks while the shared thread is busy, which deadlocked when publishing blocked as well
+            for (long i = 0; i < 1_000; i++) {
+                source.submit(i);
+            }
+            source.close();
+
+            Assert.assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            Assert.assertNull(subscriber.error.get());
+            Assert.assertEquals(1_000, subscriber.frames.size());
+            Assert.assertEquals(renderer.render(999), subscriber.frames.get(999));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSubscriberAttachingAfterUpstream() throws Exception {
+        LcdRenderer renderer = new LcdRenderer(1, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountingPublisher upstream = new CountingPublisher(100);
+            LcdProcessor processor = new LcdProcessor(renderer, executor, 16, 8);
+            upstream.subscribe(processor);
+
+            // nothing is requested, and so nothing lost, before the first subscriber exists
+            Thread.sleep(100);
+            Assert.assertEquals(0, upstream.emitted.get());
+
+            CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE, 0, null);
+            processor.subscribe(subscriber);
+
+            Assert.assertTrue(subscriber.done.await(10, TimeUnit.SECONDS));
+            Assert.assertNull(subscriber.error.get());
+            Assert.assertEquals(100, subscriber.frames.size());
+            for (int i = 0; i < 100; i++) {
+                Assert.assertEquals(renderer.render(i), subscriber.frames.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidBatchSize() {
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new LcdProcessor(new LcdRenderer(), Runnable::run, 8, 0));
+    }
+
+    private static final class CollectingSubscriber implements Flow.Subscriber<String> {
+        private final long demand;
+        private final int pauseEvery;
+        private final AtomicLong emitted;
+
+        private final List<String> frames = new ArrayList<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicLong maxHeld = new AtomicLong();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+
+        private CollectingSubscriber(long demand, int pauseEvery, AtomicLong emitted) {
+            this.demand = demand;
+            this.pauseEvery = pauseEvery;
+            this.emitted = emitted;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(demand);
+        }
+
+        @Override
+        public void onNext(String frame) {
+            frames.add(frame);
+            if (emitted != null) {
+                maxHeld.accumulateAndGet(emitted.get() - frames.size(), Math::max);
+            }
+
+            if (pauseEvery > 0 && frames.size() % pauseEvery == 0) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (demand != Long.MAX_VALUE) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.set(throwable);
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+    /**
+     * Emits the numbers 0 to count - 1 on its own thread, never more than requested, and counts them.
+     */
+    private static final class CountingPublisher implements Flow.Publisher<Long> {
+        private final long count;
+        private final AtomicLong emitted = new AtomicLong();
+
+        private CountingPublisher(long count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super Long> subscriber) {
+            Semaphore demand = new Semaphore(0);
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    demand.release((int) Math.min(n, Integer.MAX_VALUE));
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+
+            Thread thread = new Thread(() -> {
+                try {
+                    for (long i = 0; i < count; i++) {
+                        demand.acquire();
+                        emitted.incrementAndGet();
+                        subscriber.onNext(i);
+                    }
+                    subscriber.onComplete();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+}
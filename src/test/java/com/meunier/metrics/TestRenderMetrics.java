@@ -0,0 +1,129 @@
+package com.meunier.metrics;
+
+import com.meunier.LcdRenderer;
+import com.meunier.model.GlyphTableCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.lang.management.ManagementFactory;
+
+public class TestRenderMetrics {
+
+    @Before
+    public void resetMetrics() {
+        RenderMetrics.setEnabled(false);
+        RenderMetrics.reset();
+    }
+
+    @After
+    public void disableMetrics() {
+        RenderMetrics.setEnabled(false);
+        RenderMetrics.reset();
+    }
+
+    @Test
+    public void testDisabledRecordsNothing() {
+        LcdRenderer renderer = new LcdRenderer(2, 2, new GlyphTableCache(4, GlyphTableCache.EvictionPolicy.LRU));
+        renderer.render(12345);
+        renderer.render("007");
+
+        MetricsSnapshot snapshot = RenderMetrics.snapshot();
+        Assert.assertFalse(snapshot.isEnabled());
+        Assert.assertEquals(0, snapshot.getRenderCount());
+        Assert.assertEquals(0, snapshot.getGlyphTableBuildCount());
+        for (HistogramSnapshot stage : snapshot.getStages().values()) {
+            Assert.assertEquals(0, stage.getCount());
+        }
+    }
+
+    @Test
+    public void testEnabledRecordsCountsAndStages() {
+        RenderMetrics.setEnabled(true);
+
+        LcdRenderer renderer = new LcdRenderer(2, 3, new GlyphTableCache(4, GlyphTableCache.EvictionPolicy.LRU));
+        String first = renderer.render(12345);
+        String second = renderer.render("007");
+
+        MetricsSnapshot snapshot = RenderMetrics.snapshot();
+        Assert.assertEquals(2, snapshot.getRenderCount());
+        Assert.assertEquals(8, snapshot.getDigitCount());
+        Assert.assertEquals(first.length() + second.length(), snapshot.getCharCount());
+        Assert.assertEquals(1, snapshot.getGlyphTableBuildCount());
+        Assert.assertEquals(1, snapshot.getStage(RenderMetrics.Stage.GLYPH_TABLE_BUILD).getCount());
+        Assert.assertEquals(2, snapshot.getStage(RenderMetrics.Stage.LAYOUT).getCount());
+        Assert.assertEquals(2, snapshot.getStage(RenderMetrics.Stage.RESULT).getCount());
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(100);
+        }
+        histogram.record(1_000_000);
+
+        HistogramSnapshot snapshot = histogram.snapshot();
+        Assert.assertEquals(100, snapshot.getCount());
+        Assert.assertEquals(1_000_000, snapshot.getMaxNanos());
+        Assert.assertEquals(99 * 100 + 1_000_000, snapshot.getTotalNanos());
+        // 100 falls in the bucket [64, 127]
+        Assert.assertEquals(127, snapshot.getP50Nanos());
+        Assert.assertEquals(127, snapshot.getP99Nanos());
+    }
+
+    @Test
+    public void testDisabledRenderDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        LcdRenderer renderer = new LcdRenderer(2, 3);
+        StringBuilder sb = new StringBuilder(renderer.renderedLength(Long.MAX_VALUE));
+        for (int i = 0; i < 20_000; i++) {
+            sb.setLength(0);
+            appendQuietly(renderer, Long.MAX_VALUE - i, sb);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            sb.setLength(0);
+            appendQuietly(renderer, Long.MAX_VALUE - i, sb);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+        Assert.assertEquals(0, RenderMetrics.snapshot().getRenderCount());
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        RenderMetrics.registerMBean();
+        RenderMetrics.registerMBean();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(RenderMetrics.OBJECT_NAME);
+
+        server.setAttribute(name, new javax.management.Attribute("Enabled", true));
+        Assert.assertTrue(RenderMetrics.isEnabled());
+
+        new LcdRenderer().render(42);
+
+        Assert.assertEquals(1L, server.getAttribute(name, "RenderCount"));
+        TabularData stages = (TabularData) server.getAttribute(name, "Stages");
+        CompositeData layout = (CompositeData) stages.get(new Object[]{"LAYOUT"}).get("value");
+        Assert.assertEquals(1L, layout.get("count"));
+    }
+
+    private static void appendQuietly(LcdRenderer renderer, long number, StringBuilder sb) {
+        try {
+            renderer.render(number, sb);
+        } catch (java.io.IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.meunier.model;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+public class TestGlyphTable {
+
+    @Test
+    public void testSizedTableFromMasks() {
+        GlyphTable table = GlyphTable.sized(3, 2);
+
+        Assert.assertEquals(7, table.getLineCount());
+        Assert.assertEquals(5, table.getGlyphWidth());
+        assertGlyph(table, 2, " ___ ", "    |", "    |", " ___ ", "|    ", "|    ", " ___ ");
+        assertGlyph(table, 4, "     ", "|   |", "|   |", " ___ ", "    |", "    |", "     ");
+        assertGlyph(table, 0, " ___ ", "|   |", "|   |", "     ", "|   |", "|   |", " ___ ");
+    }
+
+    @Test
+    public void testBasicTableFromMasks() {
+        GlyphTable table = GlyphTable.basic();
+
+        Assert.assertEquals(3, table.getLineCount());
+        Assert.assertEquals(3, table.getGlyphWidth());
+        assertGlyph(table, 8, " _ ", "|_|", "|_|");
+        assertGlyph(table, 3, " _ ", "  |", " _|");
+        assertGlyph(table, 4, "   ", "| |", "  |");
+    }
+
+    @Test
+    public void testExtendedGlyphs() {
+        GlyphTable basic = GlyphTable.basic();
+        assertGlyph(basic, Segments.getGlyphIndex('A'), " _ ", "|_|", "| |");
+        assertGlyph(basic, Segments.getGlyphIndex('b'), "   ", "|_ ", "|_|");
+        assertGlyph(basic, Segments.getGlyphIndex('-'), "   ", " _ ", "   ");
+        assertGlyph(basic, Segments.getGlyphIndex('.'), "   ", "   ", " . ");
+        assertGlyph(basic, Segments.getGlyphIndex(':'), "   ", " . ", " . ");
+        assertGlyph(basic, Segments.getGlyphIndex(' '), "   ", "   ", "   ");
+
+        GlyphTable sized = GlyphTable.sized(3, 2);
+        assertGlyph(sized, Segments.getGlyphIndex('F'), " ___ ", "|    ", "|    ", " ___ ", "|    ", "|    ", "     ");
+        assertGlyph(sized, Segments.getGlyphIndex('.'), "     ", "     ", "     ", "     ", "     ", "     ", "  .  ");
+        assertGlyph(sized, Segments.getGlyphIndex(':'), "     ", "  .  ", "     ", "     ", "  .  ", "     ", "     ");
+    }
+
+    @Test
+    public void testGlyphIndex() {
+        for (char c = '0'; c <= '9'; c++) {
+            Assert.assertEquals(c - '0', Segments.getGlyphIndex(c));
+        }
+        Assert.assertEquals(Segments.getGlyphIndex('C'), Segments.getGlyphIndex('c'));
+        Assert.assertEquals(-1, Segments.getGlyphIndex('G'));
+        Assert.assertEquals(-1, Segments.getGlyphIndex('\u00e9'));
+    }
+
+    @Test
+    public void testTallGlyphRuns() {
+        GlyphTable table = GlyphTable.sized(1, 6);
+        int colon = Segments.getGlyphIndex(':');
+
+        Assert.assertEquals(15, table.getLineCount());
+        Assert.assertEquals(7, table.getRowCount());
+        // upper section: lines 1-6 with the colon dot on line 3, lower section: lines 8-13 with the dot on line 10
+        Assert.assertEquals(2, table.getRunLength(1));
+        Assert.assertEquals(1, table.getRunLength(3));
+        Assert.assertEquals(3, table.getRunLength(4));
+        Assert.assertEquals(1, table.getRunLength(7));
+        Assert.assertEquals(2, table.getRunLength(8));
+        Assert.assertEquals(3, table.getRunLength(11));
+        Assert.assertEquals(" . ", table.getLine(colon, 3));
+        Assert.assertEquals(" . ", table.getLine(colon, 10));
+        Assert.assertEquals("   ", table.getLine(colon, 4));
+
+        for (int line = 0; line < table.getLineCount(); line += table.getRunLength(line)) {
+            for (int next = line + 1; next < line + table.getRunLength(line); next++) {
+                for (int glyph = 0; glyph < Segments.getGlyphCount(); glyph++) {
+                    Assert.assertTrue(table.isSameLine(glyph, glyph, next));
+                    Assert.assertEquals(table.getLine(glyph, line), table.getLine(glyph, next));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBasicRunLength() {
+        GlyphTable table = GlyphTable.basic();
+
+        for (int line = 0; line < table.getLineCount(); line++) {
+            Assert.assertEquals(1, table.getRunLength(line));
+        }
+    }
+
+    @Test
+    public void testTallTableMemoryDoesNotGrowWithHeight() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        GlyphTable.sized(1, 5);
+        long before = threads.getCurrentThreadAllocatedBytes();
+        GlyphTable.sized(1, 5);
+        long small = threads.getCurrentThreadAllocatedBytes() - before;
+
+        before = threads.getCurrentThreadAllocatedBytes();
+        GlyphTable table = GlyphTable.sized(1, 5000);
+        long tall = threads.getCurrentThreadAllocatedBytes() - before;
+
+        Assert.assertEquals(10003, table.getLineCount());
+        Assert.assertTrue("Allocated " + tall + " bytes for height 5000, " + small + " for height 5",
+                tall < small + 1024);
+    }
+
+    @Test
+    public void testSegmentsMapMatchesTable() {
+        Map<Integer, String[]> numSegments = Segments.createSizedMap(2, 3);
+        GlyphTable table = GlyphTable.sized(2, 3);
+
+        for (int digit = 0; digit < 10; digit++) {
+            for (int line = 0; line < table.getLineCount(); line++) {
+                Assert.assertEquals(numSegments.get(digit)[line], table.getLine(digit, line));
+            }
+        }
+    }
+
+    @Test
+    public void testAppendLine() throws Exception {
+        GlyphTable table = GlyphTable.basic();
+        StringBuilder sb = new StringBuilder();
+        StringWriter writer = new StringWriter();
+
+        table.appendLine(6, 1, sb);
+        table.appendLine(6, 1, writer);
+
+        Assert.assertEquals("|_ ", sb.toString());
+        Assert.assertEquals("|_ ", writer.toString());
+    }
+
+    @Test
+    public void testCopyLine() {
+        GlyphTable table = GlyphTable.basic();
+        char[] dest = new char[5];
+
+        table.copyLine(8, 1, dest, 1);
+
+        Assert.assertArrayEquals(new char[]{0, '|', '_', '|', 0}, dest);
+    }
+
+    @Test
+    public void testPairLineMatchesSingleDigits() throws Exception {
+        GlyphTable[] tables = {GlyphTable.basic(), GlyphTable.sized(1, 1), GlyphTable.sized(8, 3)};
+
+        for (GlyphTable table : tables) {
+            Assert.assertTrue(table.hasPairTable());
+            for (int pair = 0; pair < 100; pair++) {
+                for (int line = 0; line < table.getLineCount(); line++) {
+                    StringBuilder sb = new StringBuilder();
+                    table.appendPairLine(pair, line, sb);
+                    Assert.assertEquals(table.getLine(pair / 10, line) + table.getLine(pair % 10, line), sb.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNoPairTableForWideDigits() {
+        Assert.assertFalse(GlyphTable.sized(9, 1).hasPairTable());
+    }
+
+    private static void assertGlyph(GlyphTable table, int digit, String... lines) {
+        for (int line = 0; line < lines.length; line++) {
+            Assert.assertEquals(lines[line], table.getLine(digit, line));
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testLegacyMapIsUnmodifiable() {
+        Segments.getNumSegments().put(1, new String[]{"x"});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        GlyphTable.sized(1, 0);
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.meunier.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class TestGlyphTableCache {
+
+    @Test
+    public void testHitAfterMiss() {
+        GlyphTableCache cache = new GlyphTableCache(4, GlyphTableCache.EvictionPolicy.LRU);
+
+        GlyphTable first = cache.get(2, 3);
+        GlyphTable second = cache.get(2, 3);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, cache.getMissCount());
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testBasicTableMatchesSegments() {
+        GlyphTableCache cache = new GlyphTableCache(4, GlyphTableCache.EvictionPolicy.LRU);
+
+        Map<Integer, String[]> expected = Segments.createBasicMap();
+        GlyphTable actual = cache.getBasic();
+
+        for (int digit = 0; digit < 10; digit++) {
+            for (int line = 0; line < actual.getLineCount(); line++) {
+                Assert.assertEquals(expected.get(digit)[line], actual.getLine(digit, line));
+            }
+        }
+    }
+
+    @Test
+    public void testLruKeepsHotSize() throws InterruptedException {
+        GlyphTableCache cache = new GlyphTableCache(2, GlyphTableCache.EvictionPolicy.LRU);
+
+        GlyphTable hot = cache.get(1, 1);
+        for (int size = 2; size < 10; size++) {
+            cache.get(size, size);
+            Thread.sleep(1);
+            cache.get(1, 1);
+        }
+
+        Assert.assertSame(hot, cache.get(1, 1));
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(7, cache.getEvictionCount());
+        Assert.assertEquals(9, cache.getMissCount());
+    }
+
+    @Test
+    public void testFifoEvictsOldest() {
+        GlyphTableCache cache = new GlyphTableCache(2, GlyphTableCache.EvictionPolicy.FIFO);
+
+        GlyphTable first = cache.get(1, 1);
+        cache.get(2, 2);
+        cache.get(1, 1);
+        cache.get(3, 3);
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertNotSame(first, cache.get(1, 1));
+    }
+
+    @Test
+    public void testLruGivesReferencedEntriesSecondChance() {
+        GlyphTableCache cache = new GlyphTableCache(3, GlyphTableCache.EvictionPolicy.LRU);
+
+        GlyphTable first = cache.get(1, 1);
+        GlyphTable second = cache.get(2, 2);
+        cache.get(3, 3);
+        cache.get(1, 1);
+        cache.get(2, 2);
+        cache.get(4, 4);
+
+        // (3, 3) was the only entry not used since the last eviction
+        Assert.assertEquals(1, cache.getEvictionCount());
+        Assert.assertSame(first, cache.get(1, 1));
+        Assert.assertSame(second, cache.get(2, 2));
+        Assert.assertEquals(4, cache.getMissCount());
+    }
+
+    @Test
+    public void testConcurrentMissesGenerateOnce() throws Exception {
+        GlyphTableCache cache = new GlyphTableCache(4, GlyphTableCache.EvictionPolicy.LRU);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> cache.get(40, 40));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaximumSize() {
+        new GlyphTableCache(0, GlyphTableCache.EvictionPolicy.LRU);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new GlyphTableCache(1, GlyphTableCache.EvictionPolicy.LRU).get(0, 1);
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.meunier.output;
+
+import com.meunier.LcdRenderer;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TestLcdByteRenderer {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final LcdRenderer renderer = new LcdRenderer(2, 1);
+    private final LcdByteRenderer byteRenderer = new LcdByteRenderer(renderer);
+
+    @Test
+    public void testRenderNumberToDirectBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(renderer.renderedLength(Long.MAX_VALUE));
+
+        byteRenderer.render(Long.MAX_VALUE, buffer);
+
+        Assert.assertEquals(renderer.render(Long.MAX_VALUE), decode(buffer));
+    }
+
+    @Test
+    public void testRenderZero() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        byteRenderer.render(0L, buffer);
+
+        Assert.assertEquals(renderer.render(0), decode(buffer));
+    }
+
+    @Test
+    public void testRenderDigitsToBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate((int) byteRenderer.renderedLength("0123456789"));
+
+        byteRenderer.render("0123456789", buffer);
+
+        Assert.assertEquals(renderer.render("0123456789"), decode(buffer));
+    }
+
+    @Test(timeout = 5_000)
+    public void testRenderBasicDigits() {
+        LcdRenderer basic = new LcdRenderer();
+        LcdByteRenderer basicBytes = new LcdByteRenderer(basic);
+        ByteBuffer buffer = ByteBuffer.allocate(basic.renderedLength(Long.MAX_VALUE));
+
+        basicBytes.render(Long.MAX_VALUE, buffer);
+
+        Assert.assertEquals(basic.render(Long.MAX_VALUE), decode(buffer));
+    }
+
+    @Test
+    public void testRenderToSmallBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        Assert.assertThrows(BufferOverflowException.class, () -> byteRenderer.render(123L, buffer));
+        Assert.assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testWriteToChannelWithSmallBuffer() throws Exception {
+        String digits = digits(1_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = byteRenderer.write(digits, Channels.newChannel(out), ByteBuffer.allocateDirect(17));
+
+        Assert.assertEquals(renderer.render(digits), out.toString(StandardCharsets.US_ASCII));
+        Assert.assertEquals(out.size(), written);
+    }
+
+    @Test
+    public void testWriteMappedInSeveralRegions() throws Exception {
+        String digits = digits(2_000);
+        Path file = folder.newFile().toPath();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long written = byteRenderer.writeMapped(digits, channel, 3, 1_000);
+            Assert.assertEquals(byteRenderer.renderedLength(digits), written);
+        }
+
+        String content = new String(Files.readAllBytes(file), StandardCharsets.US_ASCII);
+        Assert.assertEquals(renderer.render(digits), content.substring(3));
+    }
+
+    private static String digits(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append((char) ('0' + i * 13 % 10));
+        }
+        return sb.toString();
+    }
+
+    private static String decode(ByteBuffer buffer) {
+        buffer.flip();
+        return StandardCharsets.US_ASCII.decode(buffer).toString();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.meunier.output;
+
+import com.meunier.NumberToLCD;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestLcdSinks {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    public void testLibraryCallDoesNotPrint() {
+        PrintStream original = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured, true));
+        try {
+            NumberToLCD.numbersToLcd(5);
+            NumberToLCD.numbersToLcd(5, 2, 2);
+        } finally {
+            System.setOut(original);
+        }
+
+        Assert.assertEquals(0, captured.size());
+    }
+
+    @Test
+    public void testConsoleSink() throws IOException {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(captured, true, StandardCharsets.UTF_8);
+
+        String result = NumberToLCD.numbersToLcd(12, new ConsoleSink(out));
+
+        Assert.assertEquals(result + NL, captured.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBufferedSinkWritesOnFlush() throws IOException {
+        StringWriter writer = new StringWriter();
+        BufferedSink sink = new BufferedSink(writer);
+
+        String first = NumberToLCD.numbersToLcd(1, 1, 1, sink);
+        String second = NumberToLCD.numbersToLcd(2, 1, 1, sink);
+        Assert.assertEquals("", writer.toString());
+
+        sink.flush();
+        Assert.assertEquals(first + NL + second + NL, writer.toString());
+    }
+
+    @Test
+    public void testAsyncSinkKeepsOrder() throws IOException {
+        StringWriter writer = new StringWriter();
+        StringBuilder expected = new StringBuilder();
+
+        try (AsyncSink sink = new AsyncSink(new BufferedSink(writer), 4)) {
+            for (int i = 0; i < 100; i++) {
+                expected.append(NumberToLCD.numbersToLcd(i, sink)).append(NL);
+            }
+        }
+
+        Assert.assertEquals(expected.toString(), writer.toString());
+    }
+
+    @Test
+    public void testAsyncSinkReportsFailure() throws IOException {
+        AsyncSink sink = new AsyncSink(rendered -> {
+            throw new IOException("broken");
+        });
+
+        sink.write("x");
+        IOException exception = Assert.assertThrows(IOException.class, sink::flush);
+        Assert.assertEquals("broken", exception.getMessage());
+    }
+
+    @Test(timeout = 5_000)
+    public void testAsyncSinkClosesDelegateAfterFailure() throws IOException {
+        AtomicBoolean delegateClosed = new AtomicBoolean();
+        AsyncSink sink = new AsyncSink(new LcdSink() {
+            @Override
+            public void write(String rendered) throws IOException {
+                throw new IOException("broken");
+            }
+
+            @Override
+            public void close() {
+                delegateClosed.set(true);
+            }
+        });
+
+        sink.write("x");
+        Assert.assertThrows(IOException.class, sink::close);
+        Assert.assertTrue(delegateClosed.get());
+        IOException exception = Assert.assertThrows(IOException.class, () -> sink.write("y"));
+        Assert.assertEquals("Sink is closed", exception.getMessage());
+    }
+
+    @Test(timeout = 5_000)
+    public void testAsyncSinkReportsRuntimeFailure() throws IOException {
+        AsyncSink sink = new AsyncSink(rendered -> {
+            throw new IllegalStateException("broken");
+        });
+
+        sink.write("x");
+        IOException exception = Assert.assertThrows(IOException.class, sink::flush);
+        Assert.assertTrue(exception.getCause() instanceof IllegalStateException);
+        Assert.assertThrows(IOException.class, sink::close);
+    }
+
+}
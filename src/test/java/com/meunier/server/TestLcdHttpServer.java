@@ -0,0 +1,117 @@
+package com.meunier.server;
+
+import com.meunier.LcdRenderer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class TestLcdHttpServer {
+
+    private LcdHttpServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Before
+    public void startServer() throws Exception {
+        server = new LcdHttpServer(new InetSocketAddress("localhost", 0));
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testGetBasic() throws Exception {
+        HttpResponse<String> response = get("/lcd?n=12");
+
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertEquals(new LcdRenderer().render(12) + "\n", response.body());
+    }
+
+    @Test
+    public void testGetSized() throws Exception {
+        HttpResponse<String> response = get("/lcd?n=123&w=2&h=3");
+
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertEquals(new LcdRenderer(2, 3).render(123) + "\n", response.body());
+    }
+
+    @Test
+    public void testGetInvalidInput() throws Exception {
+        Assert.assertEquals(400, get("/lcd?n=-5").statusCode());
+        Assert.assertEquals(400, get("/lcd?n=5&w=0&h=1").statusCode());
+        Assert.assertEquals(400, get("/lcd?n=5&w=x").statusCode());
+        Assert.assertEquals(400, get("/lcd").statusCode());
+    }
+
+    @Test
+    public void testGetTooLarge() throws Exception {
+        Assert.assertEquals(400, get("/lcd?n=1&w=100000000&h=1").statusCode());
+        Assert.assertEquals(400, get("/lcd?n=1&w=1&h=" + (LcdHttpServer.MAX_SIZE + 1)).statusCode());
+        Assert.assertEquals(200, get("/lcd?n=1&w=" + LcdHttpServer.MAX_SIZE + "&h=" + LcdHttpServer.MAX_SIZE)
+                .statusCode());
+        // 1000 digits at the maximum size are about 20M chars
+        Assert.assertEquals(400, get("/lcd?n=" + "9".repeat(1000) + "&w=100&h=100").statusCode());
+    }
+
+    @Test
+    public void testPostTooLarge() throws Exception {
+        String body = ("9".repeat(100) + "\n").repeat(20);
+        HttpRequest request = HttpRequest.newBuilder(uri("/lcd?w=100&h=100"))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        Assert.assertEquals(400, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    @Test
+    public void testPostBatch() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri("/lcd?w=1&h=1"))
+                .POST(HttpRequest.BodyPublishers.ofString("1\n22\n\n333\n"))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+        LcdRenderer renderer = new LcdRenderer(1, 1);
+        Assert.assertEquals(200, response.statusCode());
+        Assert.assertEquals(renderer.render(1) + "\n\n" + renderer.render(22) + "\n\n" + renderer.render(333) + "\n",
+                response.body());
+    }
+
+    @Test
+    public void testConcurrentMixedSizes() throws Exception {
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int size = 1 + i % 4;
+            HttpRequest request = HttpRequest.newBuilder(uri("/lcd?n=" + i + "&w=" + size + "&h=" + size)).build();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        for (int i = 0; i < responses.size(); i++) {
+            int size = 1 + i % 4;
+            HttpResponse<String> response = responses.get(i).get();
+            Assert.assertEquals(200, response.statusCode());
+            Assert.assertEquals(new LcdRenderer(size, size).render(i) + "\n", response.body());
+        }
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+}